@@ -0,0 +1,91 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Сущности для бенчмарков: заполнены как после загрузки из БД, связи без ленивых прокси
+public final class BenchmarkFixtures {
+    public static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@example.com")
+                .version(0L)
+                .build();
+    }
+
+    public static ItemRequest itemRequest(long id, User requestor) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("Need a drill for the weekend, preferably with a set of bits")
+                .requestor(requestor)
+                .created(NOW.minusDays(3))
+                .version(0L)
+                .build();
+    }
+
+    public static Item item(long id, User owner, ItemRequest request) {
+        return Item.builder()
+                .id(id)
+                .name("Drill " + id)
+                .description("Cordless drill, two batteries, charger and a case")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .version(0L)
+                .build();
+    }
+
+    public static Booking booking(long id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    public static Comment comment(long id, Item item, User author) {
+        return Comment.builder()
+                .id(id)
+                .text("Worked fine, battery lasted the whole day")
+                .item(item)
+                .author(author)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    // Подряд идущие двухчасовые бронирования одной вещи без пересечений между собой
+    public static List<Booking> consecutiveBookings(Item item, User booker, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = NOW.plusHours(3L * i);
+            bookings.add(booking(i + 1, item, booker, start, start.plusHours(2)));
+        }
+        return bookings;
+    }
+
+    public static BookingRequestDto bookingRequest(long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
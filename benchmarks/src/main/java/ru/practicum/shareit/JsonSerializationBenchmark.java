@@ -0,0 +1,81 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сериализация ответов в JSON тем же набором модулей и настроек, что у ObjectMapper Spring Boot.
+// bookingPage - страница GET /bookings с размером по умолчанию (size=10).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private ObjectWriter writer;
+    private ItemResponseDto item;
+    private BookingResponseDto booking;
+    private List<BookingResponseDto> bookingPage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        User owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        Item entity = BenchmarkFixtures.item(1, owner, BenchmarkFixtures.itemRequest(1, booker));
+        List<CommentDto> comments = List.of(
+                CommentMapper.toCommentDto(BenchmarkFixtures.comment(1, entity, booker)),
+                CommentMapper.toCommentDto(BenchmarkFixtures.comment(2, entity, booker)),
+                CommentMapper.toCommentDto(BenchmarkFixtures.comment(3, entity, booker)));
+        item = ItemMapper.toItemResponseDto(entity,
+                BookingInfoDto.builder().id(1L).bookerId(2L).build(),
+                BookingInfoDto.builder().id(2L).bookerId(2L).build(),
+                comments);
+
+        List<Booking> bookings = BenchmarkFixtures.consecutiveBookings(entity, booker, 10);
+        booking = BookingMapper.toBookingResponseDto(bookings.get(0));
+        bookingPage = bookings.stream().map(BookingMapper::toBookingResponseDto).toList();
+    }
+
+    @Benchmark
+    public byte[] itemResponseDto() throws JsonProcessingException {
+        return writer.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] bookingResponseDto() throws JsonProcessingException {
+        return writer.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] bookingPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookingPage);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkFixtures;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    private Booking booking;
+    private BookingRequestDto request;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        Item item = BenchmarkFixtures.item(1, owner, BenchmarkFixtures.itemRequest(1, booker));
+        booking = BenchmarkFixtures.booking(1, item, booker,
+                BenchmarkFixtures.NOW, BenchmarkFixtures.NOW.plusDays(1));
+        request = BenchmarkFixtures.bookingRequest(1, BenchmarkFixtures.NOW, BenchmarkFixtures.NOW.plusDays(1));
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public BookingInfoDto toBookingInfoDto() {
+        return BookingMapper.toBookingInfoDto(booking);
+    }
+
+    @Benchmark
+    public Booking toBooking() {
+        return BookingMapper.toBooking(request);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkFixtures;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Цикл проверки пересечений из BookingServiceImpl.validateBooking по уже прочитанным бронированиям вещи.
+// noOverlap - успешное создание, просматривается весь список; overlapLast - конфликт с последним бронированием.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingOverlapBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int existingBookings;
+
+    private List<Booking> bookings;
+    private BookingRequestDto afterAll;
+    private BookingRequestDto overlappingLast;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        Item item = BenchmarkFixtures.item(1, owner, null);
+        bookings = BenchmarkFixtures.consecutiveBookings(item, booker, existingBookings);
+
+        Booking last = bookings.get(bookings.size() - 1);
+        LocalDateTime free = last.getEnd().plusHours(1);
+        afterAll = BenchmarkFixtures.bookingRequest(1, free, free.plusHours(2));
+        overlappingLast = BenchmarkFixtures.bookingRequest(1, last.getStart().plusMinutes(30), free);
+    }
+
+    @Benchmark
+    public boolean noOverlap() {
+        return BookingServiceImpl.overlapsAny(afterAll, bookings);
+    }
+
+    @Benchmark
+    public boolean overlapLast() {
+        return BookingServiceImpl.overlapsAny(overlappingLast, bookings);
+    }
+}
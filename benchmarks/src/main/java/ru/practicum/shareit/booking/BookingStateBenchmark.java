@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// parseState на неизвестном значении проходит через IllegalArgumentException от valueOf;
+// from - вариант без исключений для сравнения
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingStateBenchmark {
+    private String valid = "waiting";
+    private String invalid = "UNSUPPORTED_STATUS";
+
+    @Benchmark
+    public BookingState parseStateValid() {
+        return BookingState.parseState(valid);
+    }
+
+    @Benchmark
+    public Object parseStateInvalid() {
+        try {
+            return BookingState.parseState(invalid);
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Optional<BookingState> fromValid() {
+        return BookingState.from(valid);
+    }
+
+    @Benchmark
+    public Optional<BookingState> fromInvalid() {
+        return BookingState.from(invalid);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkFixtures;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+// toCommentDto форматирует дату через DateTimeFormatter - самая тяжёлая часть маппинга
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentMapperBenchmark {
+    private Comment comment;
+    private Item item;
+    private User author;
+
+    @Setup
+    public void setUp() {
+        author = BenchmarkFixtures.user(2);
+        item = BenchmarkFixtures.item(1, BenchmarkFixtures.user(1), null);
+        comment = BenchmarkFixtures.comment(1, item, author);
+    }
+
+    @Benchmark
+    public CommentDto toCommentDto() {
+        return CommentMapper.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public Comment toComment() {
+        return CommentMapper.toComment("Worked fine", item, author);
+    }
+}
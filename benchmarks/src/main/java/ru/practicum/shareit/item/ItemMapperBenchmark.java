@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkFixtures;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    private Item item;
+    private User owner;
+    private ItemDto itemDto;
+    private ItemUpdateDto update;
+    private BookingInfoDto lastBooking;
+    private BookingInfoDto nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        item = BenchmarkFixtures.item(1, owner, BenchmarkFixtures.itemRequest(1, booker));
+        itemDto = ItemMapper.toItemDto(item);
+        update = ItemUpdateDto.builder().name("Drill").available(false).build();
+        lastBooking = BookingInfoDto.builder().id(1L).bookerId(2L).build();
+        nextBooking = BookingInfoDto.builder().id(2L).bookerId(2L).build();
+        comments = List.of(
+                CommentMapper.toCommentDto(BenchmarkFixtures.comment(1, item, booker)),
+                CommentMapper.toCommentDto(BenchmarkFixtures.comment(2, item, booker)));
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDto() {
+        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public Item toEntity() {
+        return ItemMapper.toEntity(itemDto, owner);
+    }
+
+    @Benchmark
+    public Item updateEntity() {
+        Item copy = BenchmarkFixtures.item(1, owner, null);
+        ItemMapper.updateEntity(copy, update);
+        return copy;
+    }
+}
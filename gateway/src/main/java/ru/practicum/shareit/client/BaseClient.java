@@ -1,24 +1,87 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    // Заголовки одного соединения, их не пересылаем клиенту
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE,
+            HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
     protected final RestTemplate rest;
+    private boolean passthrough = true;
+    private WireFormat wireFormat = WireFormat.JSON;
+    private boolean forwardCompressed = true;
+    private int streamThreshold = (int) DataSize.ofKilobytes(64).toBytes();
+    @Nullable
+    private SingleFlight singleFlight;
+    @Nullable
+    private TraceHeaders traceHeaders;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    // true: тело ответа сервера отдаётся клиенту потоком байт, без разбора JSON в гейтвее
+    @Value("${shareit-server.passthrough:true}")
+    public void setPassthrough(boolean passthrough) {
+        this.passthrough = passthrough;
+    }
+
+    // Формат, который гейтвей просит у сервера в режиме passthrough; клиенту всегда уходит JSON
+    @Value("${shareit-server.wire-format:json}")
+    public void setWireFormat(String wireFormat) {
+        this.wireFormat = WireFormat.valueOf(wireFormat.toUpperCase(Locale.ROOT));
+    }
+
+    // Сжатый ответ сервера уходит клиенту как есть, если клиент принимает gzip
+    @Value("${shareit-server.compression.forward:true}")
+    public void setForwardCompressed(boolean forwardCompressed) {
+        this.forwardCompressed = forwardCompressed;
+    }
+
+    // Склеиваемый GET читается в память до этого размера; ответ больше уходит клиенту потоком и не склеивается
+    @Value("${shareit-server.stream-threshold:64KB}")
+    public void setStreamThreshold(DataSize streamThreshold) {
+        this.streamThreshold = (int) streamThreshold.toBytes();
+    }
+
+    @Autowired(required = false)
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Autowired(required = false)
+    public void setTraceHeaders(TraceHeaders traceHeaders) {
+        this.traceHeaders = traceHeaders;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -28,7 +91,12 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        if (singleFlight == null) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        }
+        boolean gzip = passthrough && forwardCompressed && ContentEncoding.clientAcceptsGzip();
+        return singleFlight.executeBlocking(new SingleFlight.Key(this, path, parameters, userId, null, gzip),
+                () -> buffered(makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null), streamThreshold));
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -80,7 +148,14 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (passthrough) {
+            HttpHeaders headers = defaultHeaders(userId, wireFormat, traceHeaders);
+            if (method == HttpMethod.GET && forwardCompressed && ContentEncoding.clientAcceptsGzip()) {
+                headers.set(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.GZIP);
+            }
+            return passThrough(method, path, parameters, new HttpEntity<>(body, headers));
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, WireFormat.JSON, traceHeaders));
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,13 +170,78 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    // Соединение с сервером остаётся открытым, пока ResourceHttpMessageConverter копирует тело клиенту,
+    // и закрывается вместе с потоком. Память гейтвея не зависит от размера ответа.
+    private <T> ResponseEntity<Object> passThrough(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity) {
+        URI uri = parameters != null && !parameters.isEmpty()
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+        } catch (IOException e) {
+            throw new UncheckedIOException("I/O error on " + method + " request for \"" + uri + "\"", e);
+        }
+
+        try {
+            HttpHeaders headers = endToEndHeaders(response.getHeaders());
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NO_CONTENT) || headers.getContentLength() == 0) {
+                response.close();
+                return responseBuilder.build();
+            }
+            WireFormat format = WireFormat.of(headers.getContentType());
+            if (format != null && format != WireFormat.JSON) {
+                try (response) {
+                    byte[] json = format.toJson(ContentEncoding.isGzip(headers)
+                            ? ContentEncoding.gunzip(response.getBody())
+                            : response.getBody());
+                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    headers.setContentLength(json.length);
+                    return responseBuilder.headers(headers).body(json);
+                }
+            }
+            return responseBuilder.body(new InputStreamResource(new ResponseBodyStream(response)));
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException("I/O error reading response for \"" + uri + "\"", e);
+        }
+    }
+
+    static HttpHeaders endToEndHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static HttpHeaders defaultHeaders(Long userId) {
+        return defaultHeaders(userId, WireFormat.JSON);
+    }
+
+    static HttpHeaders defaultHeaders(Long userId, WireFormat accept) {
+        return defaultHeaders(userId, accept, null);
+    }
+
+    static HttpHeaders defaultHeaders(Long userId, WireFormat accept, @Nullable TraceHeaders traceHeaders) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(accept == WireFormat.JSON
+                ? List.of(MediaType.APPLICATION_JSON)
+                : List.of(accept.getMediaType(), MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (traceHeaders != null) {
+            traceHeaders.inject(headers);
+        }
         return headers;
     }
 
@@ -118,4 +258,51 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    // Поток тела можно прочитать только один раз, поэтому общий для склеенных запросов ответ читается в память.
+    // Не больше threshold байт: длинный ответ отдаётся потоком из прочитанного начала и остатка соединения
+    static ResponseEntity<Object> buffered(ResponseEntity<Object> response, int threshold) {
+        if (!(response.getBody() instanceof InputStreamResource resource)) {
+            return response;
+        }
+        InputStream body = null;
+        try {
+            body = resource.getInputStream();
+            byte[] head = body.readNBytes(threshold + 1);
+            if (head.length > threshold) {
+                InputStream stream = new SequenceInputStream(new ByteArrayInputStream(head), body);
+                return new ResponseEntity<>(new InputStreamResource(stream), response.getHeaders(),
+                        response.getStatusCode());
+            }
+            body.close();
+            return new ResponseEntity<>(head, response.getHeaders(), response.getStatusCode());
+        } catch (IOException e) {
+            if (body != null) {
+                closeQuietly(body);
+            }
+            throw new UncheckedIOException("I/O error reading response body", e);
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // Исходная ошибка чтения важнее
+        }
+    }
+
+    private static class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+
+// Автомат по последним windowSize вызовам маршрута. CLOSED -> OPEN, когда доля ошибок (5xx, обрыв)
+// или медленных вызовов превысила порог; в OPEN запросы сразу отклоняются. Через openDuration
+// пропускается halfOpenCalls пробных вызовов (HALF_OPEN), по их итогу автомат закрывается или снова открывается.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Кольцо исходов: бит 1 - ошибка, бит 2 - медленный вызов
+    private final byte[] outcomes;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private long rejected;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, Duration slowCallDuration,
+                          Duration openDuration, int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.outcomes = new byte[windowSize];
+    }
+
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+                halfOpenPermits--;
+                return true;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            rejected++;
+            return false;
+        }
+    }
+
+    public synchronized void onResult(long durationNanos, boolean failure) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.OPEN) {
+            return;
+        }
+        int index = state == State.HALF_OPEN ? calls : position;
+        byte previous = outcomes[index];
+        if (calls == windowSize) {
+            failures -= previous & 1;
+            slowCalls -= (previous >> 1) & 1;
+        } else {
+            calls++;
+        }
+        outcomes[index] = (byte) ((failure ? 1 : 0) | (slow ? 2 : 0));
+        failures += failure ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+        position = (position + 1) % windowSize;
+
+        if (state == State.HALF_OPEN) {
+            if (calls >= halfOpenCalls) {
+                transitionTo(exceedsThresholds() ? State.OPEN : State.CLOSED);
+            }
+        } else if (calls >= minimumCalls && exceedsThresholds()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // Вызов отменён (клиент ушёл): исход неизвестен, пробное разрешение возвращается
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    public synchronized double getSlowCallRate() {
+        return calls == 0 ? 0 : (double) slowCalls / calls;
+    }
+
+    public synchronized int getCalls() {
+        return calls;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    private boolean exceedsThresholds() {
+        return (double) failures / calls >= failureRateThreshold
+                || (double) slowCalls / calls >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        position = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        halfOpenPermits = next == State.HALF_OPEN ? halfOpenCalls : 0;
+    }
+}
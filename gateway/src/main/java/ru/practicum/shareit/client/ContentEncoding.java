@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+// Сжатие ответа сервера согласуется с внешним клиентом: gzip просим у сервера, только если его примет клиент,
+// тогда сжатые байты уходят клиенту без распаковки. Распаковываем лишь там, где гейтвей читает тело.
+final class ContentEncoding {
+    static final String GZIP = "gzip";
+
+    private ContentEncoding() {
+    }
+
+    // Читается в потоке сервлета, при вызове метода клиента из контроллера
+    static boolean clientAcceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static boolean isGzip(HttpHeaders headers) {
+        String encoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && encoding.trim().equalsIgnoreCase(GZIP);
+    }
+
+    static InputStream gunzip(InputStream body) {
+        try {
+            return new GZIPInputStream(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read gzip response", e);
+        }
+    }
+
+    static byte[] gunzip(byte[] body) {
+        try (InputStream in = gunzip(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read gzip response", e);
+        }
+    }
+}
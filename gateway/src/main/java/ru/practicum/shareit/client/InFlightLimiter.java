@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.Semaphore;
+
+// Ограничивает число одновременных запросов гейтвея к серверу. Не блокирует: при исчерпании лимита
+// запрос сразу получает отказ, а не встаёт в очередь.
+public class InFlightLimiter {
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    public InFlightLimiter(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
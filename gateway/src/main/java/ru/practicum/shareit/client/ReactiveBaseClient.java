@@ -0,0 +1,470 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Неблокирующий клиент к серверу: поток сервлета освобождается, пока идёт запрос.
+// В режиме shareit-server.client=blocking запросы уходят через прежний BaseClient на RestTemplate.
+public class ReactiveBaseClient {
+    // Сколько буферов сети запрашивается вперёд, пока длинный ответ копируется клиенту
+    private static final int STREAM_DEMAND = 4;
+
+    @Nullable
+    private final String route;
+    private final WebClient web;
+    private final BaseClient blocking;
+    private final Duration timeout;
+    private final InFlightLimiter limiter;
+    private boolean reactive = true;
+    @Nullable
+    private ResponseCache cache;
+    @Nullable
+    private SingleFlight singleFlight;
+    @Nullable
+    private RouteGuard guard;
+    @Nullable
+    private TraceHeaders traceHeaders;
+    private WireFormat wireFormat = WireFormat.JSON;
+    private boolean forwardCompressed = true;
+    private int streamThreshold = (int) DataSize.ofKilobytes(64).toBytes();
+    private int maxResponseSize = (int) DataSize.ofMegabytes(16).toBytes();
+
+    public ReactiveBaseClient(WebClient web, RestTemplate rest, Duration timeout, InFlightLimiter limiter) {
+        this(null, web, rest, timeout, limiter);
+    }
+
+    public ReactiveBaseClient(@Nullable String route, WebClient web, RestTemplate rest, Duration timeout,
+                              InFlightLimiter limiter) {
+        this.route = route;
+        this.web = web;
+        this.blocking = new BaseClient(rest);
+        this.timeout = timeout;
+        this.limiter = limiter;
+    }
+
+    @Value("${shareit-server.client:reactive}")
+    public void setClientMode(String mode) {
+        this.reactive = !"blocking".equalsIgnoreCase(mode);
+    }
+
+    @Value("${shareit-server.passthrough:true}")
+    public void setPassthrough(boolean passthrough) {
+        blocking.setPassthrough(passthrough);
+    }
+
+    @Value("${shareit-server.wire-format:json}")
+    public void setWireFormat(String wireFormat) {
+        this.wireFormat = WireFormat.valueOf(wireFormat.toUpperCase(Locale.ROOT));
+        blocking.setWireFormat(wireFormat);
+    }
+
+    @Value("${shareit-server.compression.forward:true}")
+    public void setForwardCompressed(boolean forwardCompressed) {
+        this.forwardCompressed = forwardCompressed;
+        blocking.setForwardCompressed(forwardCompressed);
+    }
+
+    @Value("${shareit-server.stream-threshold:64KB}")
+    public void setStreamThreshold(DataSize streamThreshold) {
+        this.streamThreshold = (int) streamThreshold.toBytes();
+        blocking.setStreamThreshold(streamThreshold);
+    }
+
+    @Value("${shareit-server.max-response-size:16MB}")
+    public void setMaxResponseSize(DataSize maxResponseSize) {
+        this.maxResponseSize = (int) maxResponseSize.toBytes();
+    }
+
+    @Autowired(required = false)
+    public void setResponseCache(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Autowired(required = false)
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+        blocking.setSingleFlight(singleFlight);
+    }
+
+    @Autowired(required = false)
+    public void setTraceHeaders(TraceHeaders traceHeaders) {
+        this.traceHeaders = traceHeaders;
+        blocking.setTraceHeaders(traceHeaders);
+    }
+
+    @Autowired(required = false)
+    public void setRouteGuards(RouteGuards guards) {
+        this.guard = route != null ? guards.forRoute(route) : null;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        boolean gzip = acceptsGzip();
+        return coalesce(new SingleFlight.Key(this, path, parameters, userId, null, gzip),
+                () -> send(() -> exchange(HttpMethod.GET, path, userId, parameters, null, null, gzip),
+                        () -> blocking.get(path, userId, parameters)));
+    }
+
+    // GET с условной проверкой: сервер получает If-None-Match (из кэша гейтвея или от клиента)
+    // и при неизменных данных отвечает 304 без тела. Клиенту уходит 304, если его ETag совпал,
+    // иначе 200 с телом из кэша. Без кэша и в blocking-режиме - обычный GET.
+    protected Mono<ResponseEntity<Object>> getConditional(String path, Long userId, @Nullable String ifNoneMatch) {
+        boolean gzip = acceptsGzip();
+        return coalesce(new SingleFlight.Key(this, path, null, userId, ifNoneMatch, gzip),
+                () -> send(() -> revalidate(path, userId, ifNoneMatch, gzip), () -> blocking.get(path, userId, null)));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return send(HttpMethod.POST, path, userId, parameters, body,
+                () -> blocking.post(path, userId, parameters, body));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return send(HttpMethod.PATCH, path, userId, parameters, body,
+                () -> blocking.patch(path, userId, parameters, body));
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return send(HttpMethod.DELETE, path, userId, parameters, null,
+                () -> blocking.delete(path, userId, parameters));
+    }
+
+    // В blocking-режиме склеивание делает сам BaseClient
+    private Mono<ResponseEntity<Object>> coalesce(SingleFlight.Key key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (singleFlight == null || !reactive) {
+            return call.get();
+        }
+        return singleFlight.execute(key, call);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, Long userId,
+                                                  @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                  Callable<ResponseEntity<Object>> blockingCall) {
+        return send(() -> exchange(method, path, userId, parameters, body, null, false), blockingCall);
+    }
+
+    // Глобальный лимит снаружи, чтобы его отказы не считались ошибками маршрута; 504 по таймауту - считаются
+    private Mono<ResponseEntity<Object>> send(Supplier<Mono<ResponseEntity<Object>>> reactiveCall,
+                                              Callable<ResponseEntity<Object>> blockingCall) {
+        if (!reactive) {
+            // Выполняется в потоке подписчика, то есть в потоке сервлета, как раньше
+            return guarded(Mono.fromCallable(blockingCall));
+        }
+        return Mono.defer(() -> {
+            if (!limiter.tryAcquire()) {
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            Mono<ResponseEntity<Object>> call = reactiveCall.get()
+                    .timeout(timeout)
+                    .onErrorResume(TimeoutException.class,
+                            e -> Mono.just(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build()));
+            // Разрешение возвращается до того, как ответ уйдёт подписчику, и ровно один раз
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release();
+                }
+            };
+            return guarded(call)
+                    .doOnSuccess(response -> release.run())
+                    .doOnError(e -> release.run())
+                    .doOnCancel(release);
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> guarded(Mono<ResponseEntity<Object>> call) {
+        return guard != null ? guard.protect(call) : call;
+    }
+
+    // Вызывается в потоке сервлета: сжатие просим у сервера, только если клиент примет gzip
+    private boolean acceptsGzip() {
+        return forwardCompressed && reactive && ContentEncoding.clientAcceptsGzip();
+    }
+
+    // Тело не разбирается как JSON: ответ до stream-threshold читается в byte[] (его можно склеить и закэшировать),
+    // более длинный уходит клиенту потоком, сжатый - вместе с Content-Encoding.
+    // Smile и CBOR перекодируются в JSON без построения объектов, для этого тело читается целиком
+    // (не больше max-response-size)
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, Long userId,
+                                                      @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                      @Nullable String ifNoneMatch, boolean gzip) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    headers.addAll(BaseClient.defaultHeaders(userId, wireFormat, traceHeaders));
+                    if (ifNoneMatch != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                    }
+                    if (gzip) {
+                        headers.set(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.GZIP);
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        // Ответы с ошибкой тоже передаются клиенту как есть
+        return spec.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(response -> {
+                    HttpHeaders headers = BaseClient.endToEndHeaders(response.getHeaders());
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    Flux<DataBuffer> content = response.getBody() != null ? response.getBody() : Flux.empty();
+                    WireFormat format = WireFormat.of(headers.getContentType());
+                    Mono<Object> responseBody;
+                    if (format != null && format != WireFormat.JSON) {
+                        responseBody = DataBufferUtils.join(content, maxResponseSize)
+                                .map(buffer -> {
+                                    byte[] bytes = new byte[buffer.readableByteCount()];
+                                    buffer.read(bytes);
+                                    DataBufferUtils.release(buffer);
+                                    byte[] encoded = ContentEncoding.isGzip(headers)
+                                            ? ContentEncoding.gunzip(bytes)
+                                            : bytes;
+                                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                                    headers.setContentType(MediaType.APPLICATION_JSON);
+                                    return format.toJson(encoded);
+                                });
+                    } else {
+                        responseBody = bufferOrStream(content, streamThreshold);
+                    }
+                    return responseBody
+                            .map(bytes -> new ResponseEntity<>(bytes, headers, response.getStatusCode()))
+                            .defaultIfEmpty(new ResponseEntity<>(headers, response.getStatusCode()));
+                });
+    }
+
+    // Память на ответ: не больше threshold байт начала и STREAM_DEMAND буферов сети, пока клиент читает поток.
+    // Поток закрывает ResourceHttpMessageConverter после копирования, закрытие отменяет чтение тела
+    static Mono<Object> bufferOrStream(Flux<DataBuffer> content, int threshold) {
+        return Flux.defer(() -> {
+                    long[] size = {0};
+                    return content.bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > threshold);
+                })
+                .switchOnFirst((first, chunks) -> {
+                    List<DataBuffer> head = first.get();
+                    if (head == null) {
+                        return chunks.then(Mono.empty());
+                    }
+                    int length = head.stream().mapToInt(DataBuffer::readableByteCount).sum();
+                    if (length > threshold) {
+                        Flux<DataBuffer> stream = chunks.concatMapIterable(Function.identity(), 1);
+                        return Mono.just(new InputStreamResource(new DataBufferInputStream(stream)));
+                    }
+                    // Меньше порога: bufferUntil отдал всё тело целиком по его завершении
+                    byte[] bytes = new byte[length];
+                    int offset = 0;
+                    for (DataBuffer buffer : head) {
+                        int count = buffer.readableByteCount();
+                        buffer.read(bytes, offset, count);
+                        offset += count;
+                        DataBufferUtils.release(buffer);
+                    }
+                    return Mono.just(bytes);
+                }, false)
+                .singleOrEmpty();
+    }
+
+    private Mono<ResponseEntity<Object>> revalidate(String path, Long userId, @Nullable String clientETag, boolean gzip) {
+        if (cache == null) {
+            return exchange(HttpMethod.GET, path, userId, null, null, clientETag, gzip);
+        }
+        ResponseCache.Key key = new ResponseCache.Key(getClass(), path, userId, gzip);
+        ResponseCache.Entry cached = cache.get(key);
+        String etag = cached != null ? cached.etag() : clientETag;
+        return exchange(HttpMethod.GET, path, userId, null, null, etag, gzip)
+                .map(response -> {
+                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        return cached != null ? fromCache(cached, clientETag) : response;
+                    }
+                    String responseETag = response.getHeaders().getETag();
+                    if (response.getStatusCode() == HttpStatus.OK && responseETag != null
+                            && response.getBody() instanceof byte[] bytes) {
+                        ResponseCache.Entry entry = new ResponseCache.Entry(responseETag, bytes, response.getHeaders());
+                        cache.put(key, entry);
+                        return fromCache(entry, clientETag);
+                    }
+                    cache.invalidate(key);
+                    return response;
+                });
+    }
+
+    private static ResponseEntity<Object> fromCache(ResponseCache.Entry entry, @Nullable String clientETag) {
+        if (matches(clientETag, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entry.etag()).build();
+        }
+        return new ResponseEntity<>(entry.body(), entry.headers(), HttpStatus.OK);
+    }
+
+    // If-None-Match может содержать список ETag и слабые W/-варианты
+    static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.replaceFirst("^W/", "").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Поток сервлета забирает буферы из очереди, следующий у сети запрашивается только взамен забранного:
+    // в очереди не больше STREAM_DEMAND буферов
+    private static class DataBufferInputStream extends InputStream {
+        private static final Object COMPLETE = new Object();
+
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final BaseSubscriber<DataBuffer> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(STREAM_DEMAND);
+            }
+
+            @Override
+            protected void hookOnNext(DataBuffer buffer) {
+                if (isDisposed()) {
+                    DataBufferUtils.release(buffer);
+                } else {
+                    queue.add(buffer);
+                }
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                queue.add(COMPLETE);
+            }
+
+            @Override
+            protected void hookOnError(Throwable error) {
+                queue.add(error);
+            }
+        };
+        @Nullable
+        private DataBuffer current;
+        private boolean done;
+
+        DataBufferInputStream(Flux<DataBuffer> content) {
+            content.subscribe(subscriber);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (current == null) {
+                if (done) {
+                    return -1;
+                }
+                Object next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading response body");
+                }
+                if (next == COMPLETE) {
+                    done = true;
+                    return -1;
+                }
+                if (next instanceof Throwable error) {
+                    done = true;
+                    throw new IOException("Error reading response body", error);
+                }
+                DataBuffer buffer = (DataBuffer) next;
+                subscriber.request(1);
+                if (buffer.readableByteCount() > 0) {
+                    current = buffer;
+                } else {
+                    DataBufferUtils.release(buffer);
+                }
+            }
+            int count = Math.min(length, current.readableByteCount());
+            current.read(bytes, offset, count);
+            if (current.readableByteCount() == 0) {
+                DataBufferUtils.release(current);
+                current = null;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            subscriber.dispose();
+            if (current != null) {
+                DataBufferUtils.release(current);
+                current = null;
+            }
+            for (Object next = queue.poll(); next != null; next = queue.poll()) {
+                if (next instanceof DataBuffer buffer) {
+                    DataBufferUtils.release(buffer);
+                }
+            }
+        }
+    }
+}
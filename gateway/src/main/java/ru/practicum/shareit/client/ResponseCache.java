@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+// Ответы сервера с ETag по ключу (клиент, путь, X-Sharer-User-Id). Ограничен суммарным размером тел;
+// запись не считается свежей сама по себе - перед выдачей её всегда подтверждает сервер через If-None-Match.
+public class ResponseCache {
+    private final Cache<Key, Entry> cache;
+
+    public ResponseCache(long maxBytes, Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.body().length + key.path().length())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    @Nullable
+    public Entry get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    public void invalidate(Key key) {
+        cache.invalidate(key);
+    }
+
+    public Cache<Key, Entry> getCache() {
+        return cache;
+    }
+
+    // Сжатый и несжатый ответы хранятся отдельно: клиент без gzip не должен получить сжатые байты
+    public record Key(Class<?> client, String path, @Nullable Long userId, boolean gzip) {
+    }
+
+    public record Entry(String etag, byte[] body, HttpHeaders headers) {
+    }
+}
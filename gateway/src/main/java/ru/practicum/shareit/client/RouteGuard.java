@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Изоляция маршрута к серверу: свой лимит одновременных запросов (bulkhead) и свой автомат отключения.
+// Медленные бронирования занимают только слоты BookingClient, вещи и пользователи обслуживаются дальше.
+public class RouteGuard {
+    private final String route;
+    private final InFlightLimiter bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public RouteGuard(String route, InFlightLimiter bulkhead, CircuitBreaker circuitBreaker) {
+        this.route = route;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Mono<ResponseEntity<Object>> protect(Mono<ResponseEntity<Object>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.onCancel();
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            long started = System.nanoTime();
+            return call
+                    .doOnSuccess(response -> circuitBreaker.onResult(System.nanoTime() - started,
+                            response == null || response.getStatusCode().is5xxServerError()))
+                    .doOnError(e -> circuitBreaker.onResult(System.nanoTime() - started, true))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            circuitBreaker.onCancel();
+                        }
+                        bulkhead.release();
+                    });
+        });
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public InFlightLimiter getBulkhead() {
+        return bulkhead;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
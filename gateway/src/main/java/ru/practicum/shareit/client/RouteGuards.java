@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Реестр RouteGuard по имени маршрута (bookings, items, users, requests)
+public class RouteGuards {
+    private final Map<String, RouteGuard> guards = new ConcurrentHashMap<>();
+    private final Function<String, RouteGuard> factory;
+
+    public RouteGuards(Function<String, RouteGuard> factory) {
+        this.factory = factory;
+    }
+
+    public RouteGuard forRoute(String route) {
+        return guards.computeIfAbsent(route, factory);
+    }
+
+    public Map<String, RouteGuard> getGuards() {
+        return Map.copyOf(guards);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Склеивает одинаковые одновременные GET: первый запрос идёт на сервер, остальные с тем же ключом
+// ждут его ответа и получают те же байты. После ответа ключ освобождается, результат не кэшируется.
+// Ответ больше порога потоковой отдачи приходит потоком, который читается один раз:
+// дождавшиеся его запросы идут на сервер сами и считаются как upstream.
+public class SingleFlight {
+    private final Map<Key, Mono<ResponseEntity<Object>>> reactiveFlights = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<ResponseEntity<Object>>> blockingFlights = new ConcurrentHashMap<>();
+    private final LongAdder upstream = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public Mono<ResponseEntity<Object>> execute(Key key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> flight = reactiveFlights.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return call.get()
+                        .doFinally(signal -> reactiveFlights.remove(k))
+                        .cache();
+            });
+            if (leader[0]) {
+                upstream.increment();
+                return flight;
+            }
+            return flight.flatMap(response -> {
+                if (isShareable(response)) {
+                    coalesced.increment();
+                    return Mono.just(response);
+                }
+                upstream.increment();
+                return call.get();
+            });
+        });
+    }
+
+    public ResponseEntity<Object> executeBlocking(Key key, Supplier<ResponseEntity<Object>> call) {
+        CompletableFuture<ResponseEntity<Object>> mine = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> flight = blockingFlights.putIfAbsent(key, mine);
+        if (flight != null) {
+            ResponseEntity<Object> response;
+            try {
+                response = flight.join();
+            } catch (CompletionException e) {
+                coalesced.increment();
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (isShareable(response)) {
+                coalesced.increment();
+                return response;
+            }
+            upstream.increment();
+            return call.get();
+        }
+        upstream.increment();
+        try {
+            ResponseEntity<Object> response = call.get();
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            blockingFlights.remove(key, mine);
+        }
+    }
+
+    // Делить можно только тело, целиком прочитанное в память, но не поток
+    static boolean isShareable(ResponseEntity<Object> response) {
+        return !(response.getBody() instanceof InputStreamResource);
+    }
+
+    public int getInFlight() {
+        return reactiveFlights.size() + blockingFlights.size();
+    }
+
+    public long getUpstreamCount() {
+        return upstream.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    // client сравнивается по ссылке: у каждого клиента своя база URL
+    public record Key(Object client, String path, @Nullable Map<String, Object> parameters,
+                      @Nullable Long userId, @Nullable String ifNoneMatch, boolean gzip) {
+    }
+}
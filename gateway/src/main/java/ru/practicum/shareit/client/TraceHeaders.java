@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+
+// Контекст текущего span (запроса к гейтвею) в заголовки запроса к серверу: traceparent по W3C.
+// Вызывается в потоке сервлета, где span запроса открыт. WebClient собран без наблюдения, а RestTemplate
+// в blocking-режиме заменит заголовок своим span клиента - цепочка трассы в обоих режимах не рвётся.
+// Без бинов трассировки (тесты, management.tracing.enabled=false) ничего не добавляет.
+public class TraceHeaders {
+    private final ObjectProvider<Tracer> tracer;
+    private final ObjectProvider<Propagator> propagator;
+
+    public TraceHeaders(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    public void inject(HttpHeaders headers) {
+        Tracer currentTracer = tracer.getIfAvailable();
+        Propagator currentPropagator = propagator.getIfAvailable();
+        if (currentTracer == null || currentPropagator == null) {
+            return;
+        }
+        TraceContext context = currentTracer.currentTraceContext().context();
+        if (context != null) {
+            currentPropagator.inject(context, headers, HttpHeaders::set);
+        }
+    }
+}
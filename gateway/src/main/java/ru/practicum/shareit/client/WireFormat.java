@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+// Формат ответов сервера гейтвею (shareit-server.wire-format). Бинарный ответ перекодируется в JSON
+// потоково, токен за токеном, без построения дерева и DTO.
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+    SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory()),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory());
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    WireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Nullable
+    public static WireFormat of(@Nullable MediaType contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (WireFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public byte[] toJson(InputStream body) {
+        try {
+            return transcode(factory.createParser(body), 8192);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not convert " + mediaType + " response to JSON", e);
+        }
+    }
+
+    public byte[] toJson(byte[] body) {
+        try {
+            return transcode(factory.createParser(body), body.length * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not convert " + mediaType + " response to JSON", e);
+        }
+    }
+
+    private static byte[] transcode(JsonParser source, int sizeHint) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(sizeHint);
+        try (JsonParser parser = source; JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import ru.practicum.shareit.ratelimit.EndpointClass;
+import ru.practicum.shareit.ratelimit.RateLimitFilter;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+import ru.practicum.shareit.ratelimit.RateLimiter.Budget;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(
+            @Value("${shareit.rate-limit.reads.per-second:50}") double readsPerSecond,
+            @Value("${shareit.rate-limit.reads.burst:100}") int readsBurst,
+            @Value("${shareit.rate-limit.writes.per-second:10}") double writesPerSecond,
+            @Value("${shareit.rate-limit.writes.burst:20}") int writesBurst,
+            @Value("${shareit.rate-limit.search.per-second:5}") double searchPerSecond,
+            @Value("${shareit.rate-limit.search.burst:10}") int searchBurst,
+            @Value("${shareit.rate-limit.max-users:100000}") long maxUsers,
+            @Value("${shareit.rate-limit.idle-timeout:5m}") Duration idleTimeout) {
+        return new RateLimiter(Map.of(
+                EndpointClass.READ, new Budget(readsPerSecond, readsBurst),
+                EndpointClass.WRITE, new Budget(writesPerSecond, writesBurst),
+                EndpointClass.SEARCH, new Budget(searchPerSecond, searchBurst)),
+                maxUsers, idleTimeout);
+    }
+
+    // Раньше остальных фильтров: отклонённый запрос не должен ничего стоить
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            for (EndpointClass endpointClass : EndpointClass.values()) {
+                FunctionCounter.builder("shareit.gateway.ratelimit.rejected", rateLimiter,
+                                limiter -> limiter.getRejectedCount(endpointClass))
+                        .description("Запросы, отклонённые с 429")
+                        .tag("class", endpointClass.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("shareit.gateway.ratelimit.users", rateLimiter, RateLimiter::getTrackedUsers)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.practicum.shareit.client.CircuitBreaker;
+import ru.practicum.shareit.client.InFlightLimiter;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.RouteGuards;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceConfig {
+
+    // Лимит одновременных запросов задаётся на маршрут: shareit-server.bulkhead.<route>.max-concurrent,
+    // пороги автомата общие для всех маршрутов
+    @Bean
+    public RouteGuards shareitServerRouteGuards(
+            Environment environment,
+            @Value("${shareit-server.bulkhead.max-concurrent:100}") int defaultMaxConcurrent,
+            @Value("${shareit-server.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${shareit-server.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${shareit-server.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${shareit-server.circuit-breaker.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+            @Value("${shareit-server.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${shareit-server.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${shareit-server.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        return new RouteGuards(route -> new RouteGuard(route,
+                new InFlightLimiter(environment.getProperty("shareit-server.bulkhead." + route + ".max-concurrent",
+                        Integer.class, defaultMaxConcurrent)),
+                new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                        slowCallDuration, openDuration, halfOpenCalls)));
+    }
+
+    @Bean
+    public RoutesEndpoint routesEndpoint(RouteGuards shareitServerRouteGuards) {
+        return new RoutesEndpoint(shareitServerRouteGuards);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteStateDto {
+    private String route;
+    private String circuitState;
+    private int windowCalls;
+    private double failureRate;
+    private double slowCallRate;
+    private long rejectedByCircuit;
+    private int inFlight;
+    private int maxConcurrent;
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import ru.practicum.shareit.client.CircuitBreaker;
+import ru.practicum.shareit.client.RouteGuard;
+import ru.practicum.shareit.client.RouteGuards;
+
+import java.util.Comparator;
+import java.util.List;
+
+// /actuator/routes: состояние автомата и занятость bulkhead по каждому маршруту к серверу
+@Endpoint(id = "routes")
+public class RoutesEndpoint {
+    private final RouteGuards guards;
+
+    public RoutesEndpoint(RouteGuards guards) {
+        this.guards = guards;
+    }
+
+    @ReadOperation
+    public List<RouteStateDto> routes() {
+        return guards.getGuards().values().stream()
+                .sorted(Comparator.comparing(RouteGuard::getRoute))
+                .map(RoutesEndpoint::toDto)
+                .toList();
+    }
+
+    @ReadOperation
+    public RouteStateDto route(@Selector String route) {
+        RouteGuard guard = guards.getGuards().get(route);
+        return guard != null ? toDto(guard) : null;
+    }
+
+    private static RouteStateDto toDto(RouteGuard guard) {
+        CircuitBreaker circuitBreaker = guard.getCircuitBreaker();
+        return RouteStateDto.builder()
+                .route(guard.getRoute())
+                .circuitState(circuitBreaker.getState().name())
+                .windowCalls(circuitBreaker.getCalls())
+                .failureRate(circuitBreaker.getFailureRate())
+                .slowCallRate(circuitBreaker.getSlowCallRate())
+                .rejectedByCircuit(circuitBreaker.getRejected())
+                .inFlight(guard.getBulkhead().getInFlight())
+                .maxConcurrent(guard.getBulkhead().getMaxInFlight())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.client.TraceHeaders;
+
+// Передача контекста трассы серверу. Решение о выборке принимает гейтвей (management.tracing.sampling.probability),
+// сервер следует ему по флагу sampled в traceparent
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.tracing.propagate", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public TraceHeaders shareitServerTraceHeaders(ObjectProvider<Tracer> tracer,
+                                                  ObjectProvider<Propagator> propagator) {
+        return new TraceHeaders(tracer, propagator);
+    }
+}
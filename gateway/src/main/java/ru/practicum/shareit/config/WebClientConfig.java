@@ -0,0 +1,97 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.InFlightLimiter;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.SingleFlight;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    // Один пул соединений к серверу на все клиенты гейтвея
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-server.pool.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.pool.pending-acquire-max:1000}") int pendingAcquireMax,
+            @Value("${shareit-server.pool.max-idle-time:30s}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    // Тела ответов клиенты читают как DataBuffer сами (см. ReactiveBaseClient), лимит кодеков на них не действует
+    @Bean
+    public WebClient shareitServerWebClient(ConnectionProvider shareitServerConnectionProvider,
+                                            @Value("${shareit-server.connect-timeout:5s}") Duration connectTimeout) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public InFlightLimiter shareitServerInFlightLimiter(
+            @Value("${shareit-server.max-in-flight:2000}") int maxInFlight) {
+        return new InFlightLimiter(maxInFlight);
+    }
+
+    // Кэш ответов GET по id с проверкой ETag на сервере
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public ResponseCache shareitServerResponseCache(
+            @Value("${shareit-server.cache.max-size:32MB}") DataSize maxSize,
+            @Value("${shareit-server.cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        return new ResponseCache(maxSize.toBytes(), expireAfterAccess);
+    }
+
+    @Bean
+    public MeterBinder shareitServerResponseCacheMetrics(ObjectProvider<ResponseCache> shareitServerResponseCache) {
+        return registry -> shareitServerResponseCache.ifAvailable(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache.getCache(), "shareit-server-responses"));
+    }
+
+    // Одинаковые одновременные GET (путь, параметры, X-Sharer-User-Id) делят один запрос к серверу
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.coalesce.enabled", havingValue = "true", matchIfMissing = true)
+    public SingleFlight shareitServerSingleFlight() {
+        return new SingleFlight();
+    }
+
+    @Bean
+    public MeterBinder shareitServerSingleFlightMetrics(ObjectProvider<SingleFlight> shareitServerSingleFlight) {
+        return registry -> shareitServerSingleFlight.ifAvailable(singleFlight -> {
+            FunctionCounter.builder("shareit.gateway.singleflight.requests", singleFlight,
+                            SingleFlight::getUpstreamCount)
+                    .description("GET-запросы, ушедшие на сервер")
+                    .tag("result", "upstream")
+                    .register(registry);
+            FunctionCounter.builder("shareit.gateway.singleflight.requests", singleFlight,
+                            SingleFlight::getCoalescedCount)
+                    .description("GET-запросы, получившие ответ уже идущего одинакового запроса")
+                    .tag("result", "coalesced")
+                    .register(registry);
+            Gauge.builder("shareit.gateway.singleflight.in-flight", singleFlight, SingleFlight::getInFlight)
+                    .register(registry);
+        });
+    }
+}
@@ -3,49 +3,61 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.client.BaseClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.InFlightLimiter;
+import ru.practicum.shareit.client.ReactiveBaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Service
-public class ItemClient extends BaseClient {
+public class ItemClient extends ReactiveBaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory
-        (serverUrl + API_PREFIX))
-                .requestFactory
-        (HttpComponentsClientHttpRequestFactory.class)
-                .build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.timeout.items:5s}") Duration timeout,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitServerRequestFactory,
+                      WebClient shareitServerWebClient,
+                      InFlightLimiter limiter) {
+        super("items", shareitServerWebClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                timeout,
+                limiter);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, Long itemId, Object itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, Long itemId, Object itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long userId, Long itemId, String ifNoneMatch) {
+        return getConditional("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllItems(long userId) {
+    public Mono<ResponseEntity<Object>> getAllItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
+    public Mono<ResponseEntity<Object>> searchItems(long userId, String text) {
         Map<String, Object> parameters = Map.of("text", text);
         return get("/search?text={text}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, Long itemId, CommentRequestDto commentRequestDto) {
+    public Mono<ResponseEntity<Object>> addComment(long userId, Long itemId, CommentRequestDto commentRequestDto) {
         return post("/" + itemId + "/comment", userId, commentRequestDto);
     }
 }
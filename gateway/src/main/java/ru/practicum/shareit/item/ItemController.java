@@ -2,10 +2,12 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -21,44 +23,49 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
-        log.info("Creating item {} by user {}", itemDto, userId);
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @Valid @RequestBody ItemDto itemDto) {
+        log.info("Creating item by user {}", userId);
+        log.debug("Item payload: {}", itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long itemId,
-                                             @RequestBody ItemUpdateDto itemUpdateDto) {
-        log.info("Updating item {} with id {} by user {}", itemUpdateDto, itemId, userId);
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @RequestBody ItemUpdateDto itemUpdateDto) {
+        log.info("Updating item with id {} by user {}", itemId, userId);
+        log.debug("Item payload: {}", itemUpdateDto);
         return itemClient.updateItem(userId, itemId, itemUpdateDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long itemId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                String ifNoneMatch) {
         log.info("Get item with id {} by user {}", itemId, userId);
-        return itemClient.getItem(userId, itemId);
+        return itemClient.getItem(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get all items for user {}", userId);
         return itemClient.getAllItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(name = "text", required = false) String text) {
-        log.info("Search items with text '{}' for user {}", text, userId);
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam(name = "text", required = false) String text) {
+        log.info("Search items for user {}", userId);
+        log.debug("Search text: '{}'", text);
         return itemClient.searchItems(userId, text);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long itemId,
-                                             @Valid @RequestBody CommentRequestDto commentRequestDto) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @Valid @RequestBody CommentRequestDto commentRequestDto) {
         log.info("Adding comment to item {} by user {}", itemId, userId);
         return itemClient.addComment(userId, itemId, commentRequestDto);
     }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+// У каждого класса запросов свой бюджет: поиск дороже чтения по id, запись меняет данные
+public enum EndpointClass {
+    READ,
+    WRITE,
+    SEARCH;
+
+    public static EndpointClass of(String method, String path) {
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return WRITE;
+        }
+        return path.endsWith("/search") ? SEARCH : READ;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Отсекает запросы сверх бюджета пользователя до контроллера, сервер их не видит.
+// Запросы без X-Sharer-User-Id (пользователи, actuator) не ограничиваются.
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = parseUserId(request.getHeader("X-Sharer-User-Id"));
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getRequestURI());
+        long waitNanos = limiter.tryAcquire(userId, endpointClass);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.debug("Rate limit exceeded for user {} on {} {}", userId, request.getMethod(), request.getRequestURI());
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    // Некорректный заголовок пропускается дальше: на него ответит валидация контроллера
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Бакеты по X-Sharer-User-Id. Карта ограничена по размеру, пользователи без запросов дольше idleTimeout
+// вытесняются: к этому времени их бакет всё равно успел бы наполниться.
+public class RateLimiter {
+    private final Map<EndpointClass, Budget> budgets;
+    private final Cache<Long, UserBuckets> buckets;
+    private final Map<EndpointClass, LongAdder> rejected = new EnumMap<>(EndpointClass.class);
+
+    public RateLimiter(Map<EndpointClass, Budget> budgets, long maxUsers, Duration idleTimeout) {
+        this.budgets = new EnumMap<>(budgets);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejected.put(endpointClass, new LongAdder());
+        }
+    }
+
+    // 0, если запрос можно пропустить, иначе сколько наносекунд ждать
+    public long tryAcquire(long userId, EndpointClass endpointClass) {
+        long wait = buckets.get(userId, id -> new UserBuckets(budgets))
+                .bucket(endpointClass)
+                .tryConsume(System.nanoTime());
+        if (wait > 0) {
+            rejected.get(endpointClass).increment();
+        }
+        return wait;
+    }
+
+    public long getRejectedCount(EndpointClass endpointClass) {
+        return rejected.get(endpointClass).sum();
+    }
+
+    public long getTrackedUsers() {
+        return buckets.estimatedSize();
+    }
+
+    public record Budget(double permitsPerSecond, int burst) {
+    }
+
+    private static class UserBuckets {
+        private final TokenBucket[] buckets = new TokenBucket[EndpointClass.values().length];
+
+        UserBuckets(Map<EndpointClass, Budget> budgets) {
+            budgets.forEach((endpointClass, budget) ->
+                    buckets[endpointClass.ordinal()] = new TokenBucket(budget.permitsPerSecond(), budget.burst()));
+        }
+
+        TokenBucket bucket(EndpointClass endpointClass) {
+            return buckets[endpointClass.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Токен-бакет в одном AtomicLong (GCRA): вместо числа токенов хранится момент, когда бакет снова станет полным.
+// Запрос проходит, если после него этот момент отстоит от текущего не дальше, чем на ёмкость бакета.
+// Без блокировок: при гонке CAS просто повторяется.
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.capacityNanos = intervalNanos * capacity;
+    }
+
+    // 0, если токен взят, иначе сколько наносекунд ждать следующего
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
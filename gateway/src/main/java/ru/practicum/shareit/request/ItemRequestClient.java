@@ -3,35 +3,47 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.client.BaseClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.InFlightLimiter;
+import ru.practicum.shareit.client.ReactiveBaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Service
-public class ItemRequestClient extends BaseClient {
+public class ItemRequestClient extends ReactiveBaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory
-        (serverUrl + API_PREFIX))
-                .requestFactory
-        (HttpComponentsClientHttpRequestFactory.class)
-                .build());
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             @Value("${shareit-server.timeout.requests:5s}") Duration timeout,
+                             RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareitServerRequestFactory,
+                             WebClient shareitServerWebClient,
+                             InFlightLimiter limiter) {
+        super("requests", shareitServerWebClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> shareitServerRequestFactory)
+                        .build(),
+                timeout,
+                limiter);
     }
 
-    public ResponseEntity<Object> createRequest(long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getUserRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,7 +51,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, Long requestId, String ifNoneMatch) {
+        return getConditional("/" + requestId, userId, ifNoneMatch);
     }
 }
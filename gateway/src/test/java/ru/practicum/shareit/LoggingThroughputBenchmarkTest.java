@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// Пропускная способность гейтвея при 5000 запросов в секунду (открытая модель: запросы уходят по расписанию,
+// задержка считается от запланированного момента) с прежними синхронными текстовыми логами и тел DTO на INFO
+// против асинхронного JSON-appender с идентификаторами. Сервер заменён заглушкой без задержки.
+// Запуск: mvn test -pl gateway -Pbenchmark -Dtest=LoggingThroughputBenchmarkTest -Dshareit.benchmark.logging=async|sync
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoggingThroughputBenchmarkTest {
+    private static final int RATE = Integer.getInteger("shareit.benchmark.rate", 5_000);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("shareit.benchmark.seconds", 10));
+    private static final boolean ASYNC = !"sync".equals(System.getProperty("shareit.benchmark.logging", "async"));
+    private static final String ITEM = "{\"name\":\"Drill\",\"description\":\"Cordless drill with two batteries\","
+            + "\"available\":true}";
+
+    private static final HttpServer STUB_SERVER = startStubServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + STUB_SERVER.getAddress().getPort());
+        registry.add("shareit.rate-limit.enabled", () -> false);
+        // Bulkhead и автомат отключения отвечали бы 503 под перегрузкой и подменяли бы измерение логов
+        registry.add("shareit-server.bulkhead.max-concurrent", () -> 100_000);
+        registry.add("shareit-server.circuit-breaker.slow-call-duration", () -> "1h");
+        if (!ASYNC) {
+            // Как до перевода на асинхронный JSON: синхронная консоль и тела DTO в каждой строке
+            registry.add("logging.config", () -> "classpath:logback-sync-benchmark.xml");
+            registry.add("logging.level.ru.practicum.shareit", () -> "DEBUG");
+        }
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.stop(0);
+    }
+
+    @Test
+    public void createItem_5000RequestsPerSecond() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("X-Sharer-User-Id", "1")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ITEM))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        // Прогрев: JIT и соединения к заглушке
+        runLoad(client, request, RATE / 5, Duration.ofSeconds(2));
+
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        long[] latencies = runLoad(client, request, RATE, DURATION, failures);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("logging: %s, target %,d req/s for %d s, requests: %d, failures: %s%n",
+                ASYNC ? "async-json" : "sync-text", RATE, DURATION.toSeconds(), latencies.length, failures);
+        System.out.printf("throughput %,.0f req/s  p50 %,d ms  p99 %,d ms  p99.9 %,d ms  max %,d ms%n",
+                latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies[latencies.length - 1] / 1_000_000);
+    }
+
+    private static long[] runLoad(HttpClient client, HttpRequest request, int rate, Duration duration) {
+        return runLoad(client, request, rate, duration, new ConcurrentHashMap<>());
+    }
+
+    private static long[] runLoad(HttpClient client, HttpRequest request, int rate, Duration duration,
+                                  Map<String, Integer> failures) {
+        int total = (int) (rate * duration.toSeconds());
+        long interval = 1_000_000_000L / rate;
+        long[] latencies = new long[total];
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long intended = start + i * interval;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int index = i;
+                executor.submit(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 201) {
+                            failures.merge(String.valueOf(response.statusCode()), 1, Integer::sum);
+                        }
+                    } catch (Exception e) {
+                        failures.merge(e.getClass().getSimpleName(), 1, Integer::sum);
+                    }
+                    latencies[index] = System.nanoTime() - intended;
+                });
+            }
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1_000_000;
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+            byte[] body = "{\"id\":1,\"name\":\"Drill\",\"available\":true}".getBytes(StandardCharsets.UTF_8);
+            server.createContext("/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(201, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub server", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Пропускная способность и хвост задержек гейтвея в blocking-режиме при 5000 одновременных клиентов:
+// платформенные потоки Tomcat против виртуальных. Сервер заменён заглушкой с задержкой ответа.
+// Запуск: mvn test -pl gateway -Pbenchmark -Dtest=ThreadModelLoadTest -Dshareit.loadtest.virtual=true|false
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ThreadModelLoadTest {
+    private static final int CLIENTS = 5_000;
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(100);
+    private static final boolean VIRTUAL = Boolean.parseBoolean(System.getProperty("shareit.loadtest.virtual", "true"));
+
+    private static final HttpServer STUB_SERVER = startStubServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void gatewayProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + STUB_SERVER.getAddress().getPort());
+        registry.add("shareit-server.client", () -> "blocking");
+        registry.add("shareit.rate-limit.enabled", () -> false);
+        registry.add("spring.threads.virtual.enabled", () -> VIRTUAL);
+        registry.add("logging.level.org.springframework.web.client.RestTemplate", () -> "INFO");
+        registry.add("logging.level.ru.practicum.shareit", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.stop(0);
+    }
+
+    @Test
+    public void getItems_5000ConcurrentClients() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(120))
+                .build();
+
+        // Прогрев: JIT и соединения пула к заглушке
+        runLoad(client, request, 200, 5);
+
+        long started = System.nanoTime();
+        long[] latencies = runLoad(client, request, CLIENTS, REQUESTS_PER_CLIENT);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("threads: %s, clients: %d, requests: %d%n",
+                VIRTUAL ? "virtual" : "platform", CLIENTS, latencies.length);
+        System.out.printf("throughput %,.0f req/s  p50 %,d ms  p99 %,d ms  p99.9 %,d ms  max %,d ms%n",
+                latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies[latencies.length - 1] / 1_000_000);
+    }
+
+    private static long[] runLoad(HttpClient client, HttpRequest request, int clients, int requestsPerClient)
+            throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> {
+                    long[] samples = new long[requestsPerClient];
+                    for (int j = 0; j < requestsPerClient; j++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        samples[j] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return samples;
+                }));
+            }
+        }
+        assertEquals(0, failures.get());
+
+        long[] latencies = new long[clients * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] samples = result.get();
+            System.arraycopy(samples, 0, latencies, offset, samples.length);
+            offset += samples.length;
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1_000_000;
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            server.createContext("/", exchange -> {
+                try {
+                    Thread.sleep(SERVER_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub server", e);
+        }
+    }
+}
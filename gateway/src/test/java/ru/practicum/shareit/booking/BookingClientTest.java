@@ -4,16 +4,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.config.RestTemplateConfig;
+import ru.practicum.shareit.config.WebClientConfig;
 
+import java.nio.charset.StandardCharsets;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
-@RestClientTest(BookingClient.class)
+// Склеивание GET выключено: с ним тело общего ответа читается в память, а здесь проверяется потоковая передача
+@RestClientTest(value = BookingClient.class,
+        properties = {"shareit-server.client=blocking", "shareit-server.coalesce.enabled=false"})
+@Import({WebClientConfig.class, RestTemplateConfig.class})
 public class BookingClientTest {
 
     @Autowired
@@ -33,8 +45,38 @@ public class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(expectedResponse, MediaType.APPLICATION_JSON));
 
-        bookingClient.getBookings(1L, BookingState.ALL, 0, 10);
+        bookingClient.getBookings(1L, BookingState.ALL, 0, 10).block();
 
         server.verify();
     }
+
+    @Test
+    public void getBooking_ShouldPassServerBytesThrough() throws Exception {
+        String expectedResponse = "{\"id\":1,\"status\":\"WAITING\"}";
+        server.expect(requestTo("http://localhost:9090/bookings/1"))
+                .andRespond(withSuccess(expectedResponse, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = bookingClient.getBooking(1L, 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Resource body = assertInstanceOf(Resource.class, response.getBody());
+        assertEquals(expectedResponse, body.getContentAsString(StandardCharsets.UTF_8));
+        server.verify();
+    }
+
+    @Test
+    public void getBooking_ServerError_ShouldPassStatusAndBodyThrough() throws Exception {
+        String errorResponse = "{\"error\":\"Booking not found\"}";
+        server.expect(requestTo("http://localhost:9090/bookings/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(errorResponse));
+
+        ResponseEntity<Object> response = bookingClient.getBooking(1L, 99L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Resource body = assertInstanceOf(Resource.class, response.getBody());
+        assertEquals(errorResponse, body.getContentAsString(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaseClientTest {
+
+    @Test
+    public void buffered_BodyWithinThreshold_ReadsBytesAndClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        ResponseEntity<Object> response = BaseClient.buffered(ResponseEntity.ok(resource(new byte[16], closed)), 16);
+
+        assertArrayEquals(new byte[16], (byte[]) response.getBody());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void buffered_BodyOverThreshold_StreamsWholeBody() throws Exception {
+        byte[] body = new byte[100];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+
+        ResponseEntity<Object> response = BaseClient.buffered(ResponseEntity.ok(resource(body, closed)), 16);
+
+        InputStreamResource streamed = assertInstanceOf(InputStreamResource.class, response.getBody());
+        assertFalse(closed.get());
+        try (InputStream in = streamed.getInputStream()) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertTrue(closed.get());
+    }
+
+    private static InputStreamResource resource(byte[] body, AtomicBoolean closed) {
+        return new InputStreamResource(new ByteArrayInputStream(body) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+    }
+}
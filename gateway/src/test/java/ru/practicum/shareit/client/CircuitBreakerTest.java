@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    @Test
+    public void onResult_FailureRateAboveThreshold_OpensAndRejects() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(10, 4, 0.5, 1.0,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), 2);
+
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, true);
+        circuitBreaker.onResult(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        circuitBreaker.onResult(FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getRejected());
+    }
+
+    @Test
+    public void onResult_SlowCallsAboveThreshold_Opens() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(10, 2, 1.0, 0.5,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), 2);
+
+        circuitBreaker.onResult(SLOW, false);
+        circuitBreaker.onResult(SLOW, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void tryAcquire_AfterOpenDuration_ProbesAndClosesOnSuccess() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(10, 1, 0.5, 1.0,
+                Duration.ofSeconds(1), Duration.ofMillis(20), 2);
+        circuitBreaker.onResult(FAST, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(30);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void onResult_WindowSlides_OldFailuresDropOut() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(4, 4, 0.75, 1.0,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), 2);
+        circuitBreaker.onResult(FAST, true);
+        circuitBreaker.onResult(FAST, true);
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, false);
+
+        circuitBreaker.onResult(FAST, false);
+
+        assertEquals(0.25, circuitBreaker.getFailureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
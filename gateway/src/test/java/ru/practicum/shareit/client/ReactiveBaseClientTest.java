@@ -0,0 +1,348 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReactiveBaseClientTest {
+
+    private static class TestClient extends ReactiveBaseClient {
+        TestClient(ExchangeFunction exchange, Duration timeout, InFlightLimiter limiter) {
+            super(WebClient.builder().baseUrl("http://server/items").exchangeFunction(exchange).build(),
+                    new RestTemplate(), timeout, limiter);
+        }
+
+        ResponseEntity<Object> getItem(long userId, long itemId) {
+            return get("/" + itemId, userId).block();
+        }
+
+        ResponseEntity<Object> getItem(long userId, long itemId, String ifNoneMatch) {
+            return getConditional("/" + itemId, userId, ifNoneMatch).block();
+        }
+    }
+
+    @AfterEach
+    public void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void get_ServerResponds_ReturnsBytesWithStatusAndContentType() {
+        String serverBody = "{\"id\":1,\"name\":\"Drill\"}";
+        AtomicReference<String> userHeader = new AtomicReference<>();
+        InFlightLimiter limiter = new InFlightLimiter(10);
+        TestClient client = new TestClient(request -> {
+            userHeader.set(request.headers().getFirst("X-Sharer-User-Id"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .body(serverBody)
+                    .build());
+        }, Duration.ofSeconds(1), limiter);
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(serverBody, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals("7", userHeader.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void get_TraceHeadersSet_SendsCurrentTraceContextToServer() {
+        TraceContext context = mock(TraceContext.class);
+        Tracer tracer = mock(Tracer.class, RETURNS_DEEP_STUBS);
+        when(tracer.currentTraceContext().context()).thenReturn(context);
+        Propagator propagator = mock(Propagator.class);
+        doAnswer(invocation -> {
+            invocation.<Propagator.Setter<HttpHeaders>>getArgument(2)
+                    .set(invocation.getArgument(1), "traceparent", "00-trace-span-01");
+            return null;
+        }).when(propagator).inject(eq(context), any(), any());
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(
+                Map.of("tracer", tracer, "propagator", propagator));
+        AtomicReference<String> traceparent = new AtomicReference<>();
+        TestClient client = new TestClient(request -> {
+            traceparent.set(request.headers().getFirst("traceparent"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }, Duration.ofSeconds(1), new InFlightLimiter(10));
+        client.setTraceHeaders(new TraceHeaders(beans.getBeanProvider(Tracer.class),
+                beans.getBeanProvider(Propagator.class)));
+
+        client.getItem(7L, 1L);
+
+        assertEquals("00-trace-span-01", traceparent.get());
+    }
+
+    @Test
+    public void get_LimitReached_ReturnsServiceUnavailable() {
+        InFlightLimiter limiter = new InFlightLimiter(1);
+        assertTrue(limiter.tryAcquire());
+        TestClient client = new TestClient(request -> Mono.error(new AssertionError("Request must not be sent")),
+                Duration.ofSeconds(1), limiter);
+
+        ResponseEntity<Object> response = client.getItem(1L, 1L);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    public void get_ServerTooSlow_ReturnsGatewayTimeoutAndReleasesPermit() {
+        InFlightLimiter limiter = new InFlightLimiter(1);
+        TestClient client = new TestClient(request -> Mono.never(), Duration.ofMillis(50), limiter);
+
+        ResponseEntity<Object> response = client.getItem(1L, 1L);
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void getConditional_ServerNotModified_ReturnsCachedBody() {
+        String serverBody = "{\"id\":1,\"name\":\"Drill\"}";
+        List<String> sentETags = new CopyOnWriteArrayList<>();
+        TestClient client = new TestClient(request -> {
+            String ifNoneMatch = request.headers().getFirst("If-None-Match");
+            sentETags.add(String.valueOf(ifNoneMatch));
+            if ("\"1\"".equals(ifNoneMatch)) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).header("ETag", "\"1\"").build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("ETag", "\"1\"")
+                    .body(serverBody)
+                    .build());
+        }, Duration.ofSeconds(1), new InFlightLimiter(10));
+        client.setResponseCache(new ResponseCache(1024 * 1024, Duration.ofMinutes(1)));
+
+        ResponseEntity<Object> first = client.getItem(7L, 1L, null);
+        ResponseEntity<Object> second = client.getItem(7L, 1L, null);
+
+        assertEquals(List.of("null", "\"1\""), sentETags);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("\"1\"", second.getHeaders().getETag());
+        assertEquals(serverBody, new String((byte[]) second.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void getConditional_ClientHasCurrentVersion_ReturnsNotModified() {
+        TestClient client = new TestClient(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header("ETag", "\"2\"")
+                .body("{}")
+                .build()), Duration.ofSeconds(1), new InFlightLimiter(10));
+        client.setResponseCache(new ResponseCache(1024 * 1024, Duration.ofMinutes(1)));
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L, "W/\"2\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"2\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void getConditional_ServerNotFound_InvalidatesEntry() {
+        AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+        TestClient client = new TestClient(request -> Mono.just(ClientResponse.create(status.get())
+                .header("ETag", "\"1\"")
+                .body("{}")
+                .build()), Duration.ofSeconds(1), new InFlightLimiter(10));
+        ResponseCache cache = new ResponseCache(1024 * 1024, Duration.ofMinutes(1));
+        client.setResponseCache(cache);
+        ResponseCache.Key key = new ResponseCache.Key(TestClient.class, "/1", 7L, false);
+
+        client.getItem(7L, 1L, null);
+        assertNotNull(cache.get(key));
+
+        status.set(HttpStatus.NOT_FOUND);
+        ResponseEntity<Object> response = client.getItem(7L, 1L, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    public void get_SmileWireFormat_AsksForSmileAndReturnsJson() throws Exception {
+        byte[] smile = new SmileMapper().writeValueAsBytes(Map.of("id", 1, "start", "2030-01-01T10:00:00"));
+        AtomicReference<String> accept = new AtomicReference<>();
+        TestClient client = new TestClient(request -> {
+            accept.set(request.headers().getFirst("Accept"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "application/x-jackson-smile")
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(smile)))
+                    .build());
+        }, Duration.ofSeconds(1), new InFlightLimiter(10));
+        client.setWireFormat("smile");
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L);
+
+        assertEquals("application/x-jackson-smile, application/json", accept.get());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(Map.of("id", 1, "start", "2030-01-01T10:00:00"),
+                new ObjectMapper().readValue((byte[]) response.getBody(), Map.class));
+    }
+
+    @Test
+    public void get_ClientAcceptsGzip_ForwardsCompressedBytes() throws Exception {
+        clientRequest("gzip, deflate, br");
+        byte[] gzip = gzip("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        TestClient client = new TestClient(request -> {
+            acceptEncoding.set(request.headers().getFirst("Accept-Encoding"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("Content-Encoding", "gzip")
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(gzip)))
+                    .build());
+        }, Duration.ofSeconds(1), new InFlightLimiter(10));
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L);
+
+        assertEquals("gzip", acceptEncoding.get());
+        assertEquals("gzip", response.getHeaders().getFirst("Content-Encoding"));
+        assertArrayEquals(gzip, (byte[]) response.getBody());
+    }
+
+    @Test
+    public void get_ClientWithoutGzip_DoesNotAskServerToCompress() {
+        clientRequest("gzip;q=0, identity");
+        AtomicReference<String> acceptEncoding = new AtomicReference<>("unset");
+        TestClient client = new TestClient(request -> {
+            acceptEncoding.set(request.headers().getFirst("Accept-Encoding"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK).body("[]").build());
+        }, Duration.ofSeconds(1), new InFlightLimiter(10));
+
+        client.getItem(7L, 1L);
+
+        assertNull(acceptEncoding.get());
+    }
+
+    @Test
+    public void get_CompressedSmile_IsInflatedAndConvertedToJson() throws Exception {
+        clientRequest("gzip");
+        byte[] smile = gzip(new SmileMapper().writeValueAsBytes(Map.of("id", 1)));
+        TestClient client = new TestClient(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", "application/x-jackson-smile")
+                .header("Content-Encoding", "gzip")
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(smile)))
+                .build()), Duration.ofSeconds(1), new InFlightLimiter(10));
+        client.setWireFormat("smile");
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L);
+
+        assertNull(response.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("{\"id\":1}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void get_ResponseOverStreamThreshold_StreamsWholeBody() throws Exception {
+        byte[] body = new byte[200 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        InFlightLimiter limiter = new InFlightLimiter(10);
+        TestClient client = new TestClient(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(chunks(body, 8 * 1024))
+                .build()), Duration.ofSeconds(1), limiter);
+
+        ResponseEntity<Object> response = client.getItem(7L, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        InputStreamResource streamed = assertInstanceOf(InputStreamResource.class, response.getBody());
+        try (InputStream in = streamed.getInputStream()) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void bufferOrStream_LongBody_ReadsOnlyPrefixAheadOfClient() throws Exception {
+        int chunk = 8 * 1024;
+        AtomicLong produced = new AtomicLong();
+        Flux<DataBuffer> content = Flux.range(0, 1000)
+                .<DataBuffer>map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[chunk]))
+                .doOnNext(buffer -> produced.incrementAndGet())
+                .hide();
+
+        Object body = ReactiveBaseClient.bufferOrStream(content, 64 * 1024).block();
+
+        InputStreamResource streamed = assertInstanceOf(InputStreamResource.class, body);
+        // Начало до порога (9 буферов) и не больше STREAM_DEMAND вперёд, а не все 1000
+        assertTrue(produced.get() <= 9 + 4 + 1, "produced " + produced.get());
+        try (InputStream in = streamed.getInputStream()) {
+            assertEquals(1000L * chunk, in.transferTo(OutputStream.nullOutputStream()));
+        }
+    }
+
+    @Test
+    public void bufferOrStream_ShortOrEmptyBody_ReturnsBytes() {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(body, (byte[]) ReactiveBaseClient.bufferOrStream(chunks(body, 4), 1024).block());
+        assertNull(ReactiveBaseClient.bufferOrStream(Flux.empty(), 1024).block());
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body, int size) {
+        return Flux.range(0, (body.length + size - 1) / size)
+                .<DataBuffer>map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(body, i * size, Math.min(body.length, (i + 1) * size))));
+    }
+
+    private static void clientRequest(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
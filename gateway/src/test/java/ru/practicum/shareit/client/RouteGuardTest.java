@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteGuardTest {
+
+    private static CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker(10, 2, 0.5, 1.0, Duration.ofSeconds(1), Duration.ofMinutes(1), 1);
+    }
+
+    @Test
+    public void protect_BulkheadFull_RejectsOnlyThisRoute() {
+        RouteGuard bookings = new RouteGuard("bookings", new InFlightLimiter(1), circuitBreaker());
+        RouteGuard items = new RouteGuard("items", new InFlightLimiter(1), circuitBreaker());
+        Sinks.One<ResponseEntity<Object>> slowBooking = Sinks.one();
+
+        var pending = bookings.protect(slowBooking.asMono()).toFuture();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                bookings.protect(Mono.just(ResponseEntity.ok("[]"))).block().getStatusCode());
+        assertEquals(HttpStatus.OK, items.protect(Mono.just(ResponseEntity.ok("{}"))).block().getStatusCode());
+
+        slowBooking.tryEmitValue(ResponseEntity.ok("[]"));
+        assertEquals(HttpStatus.OK, pending.join().getStatusCode());
+        assertEquals(0, bookings.getBulkhead().getInFlight());
+    }
+
+    @Test
+    public void protect_ServerErrors_OpenCircuitAndFailFast() {
+        RouteGuard guard = new RouteGuard("bookings", new InFlightLimiter(10), circuitBreaker());
+        Mono<ResponseEntity<Object>> failing = Mono.just(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build());
+
+        guard.protect(failing).block();
+        guard.protect(Mono.error(new IllegalStateException("Connection reset"))).onErrorResume(e -> Mono.empty()).block();
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState());
+        ResponseEntity<Object> response = guard.protect(Mono.error(new AssertionError("Request must not be sent")))
+                .block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+    private static final Object CLIENT = new Object();
+
+    @Test
+    public void execute_IdenticalConcurrentRequests_ShareOneUpstreamCall() {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        SingleFlight.Key key = new SingleFlight.Key(CLIENT, "/search?text={text}", null, 1L, null, false);
+
+        Mono<ResponseEntity<Object>> first = singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<ResponseEntity<Object>> second = singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        var firstResult = first.toFuture();
+        var secondResult = second.toFuture();
+        upstream.tryEmitValue(ResponseEntity.ok("[]".getBytes(StandardCharsets.UTF_8)));
+
+        assertSame(firstResult.join().getBody(), secondResult.join().getBody());
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getUpstreamCount());
+        assertEquals(1, singleFlight.getCoalescedCount());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    public void execute_DifferentUsers_AreNotCoalesced() {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+        var first = singleFlight.execute(new SingleFlight.Key(CLIENT, "/1", null, 1L, null, false), () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).toFuture();
+        var second = singleFlight.execute(new SingleFlight.Key(CLIENT, "/1", null, 2L, null, false), () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).toFuture();
+        upstream.tryEmitValue(ResponseEntity.ok("{}"));
+        first.join();
+        second.join();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    public void executeBlocking_IdenticalConcurrentRequests_ShareOneUpstreamCall() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Key key = new SingleFlight.Key(CLIENT, "/1", null, 1L, null, false);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<ResponseEntity<Object>> leader = executor.submit(() -> singleFlight.executeBlocking(key, () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return ResponseEntity.ok("{}");
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<ResponseEntity<Object>> follower = executor.submit(() -> singleFlight.executeBlocking(key, () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }));
+            while (singleFlight.getCoalescedCount() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(HttpStatus.OK, leader.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(HttpStatus.OK, follower.get(5, TimeUnit.SECONDS).getStatusCode());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    public void execute_StreamedResponse_FollowerCallsUpstreamItself() {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        SingleFlight.Key key = new SingleFlight.Key(CLIENT, "/owner", null, 1L, null, false);
+        ResponseEntity<Object> own = ResponseEntity.ok("[]".getBytes(StandardCharsets.UTF_8));
+
+        var first = singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).toFuture();
+        var second = singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return Mono.just(own);
+        }).toFuture();
+        ResponseEntity<Object> streamed = ResponseEntity.ok(
+                new InputStreamResource(new ByteArrayInputStream(new byte[0])));
+        upstream.tryEmitValue(streamed);
+
+        assertSame(streamed, first.join());
+        assertSame(own, second.join());
+        assertEquals(2, calls.get());
+        assertEquals(2, singleFlight.getUpstreamCount());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
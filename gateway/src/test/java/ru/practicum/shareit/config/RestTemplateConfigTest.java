@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RestTemplateConfigTest {
+    private final RestTemplateConfig config = new RestTemplateConfig();
+
+    @Test
+    public void connectionManager_UsesConfiguredLimits() {
+        try (PoolingHttpClientConnectionManager manager = config.shareitServerConnectionManager(50, 40,
+                Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMinutes(1), Duration.ofSeconds(2))) {
+            assertEquals(50, manager.getMaxTotal());
+            assertEquals(40, manager.getDefaultMaxPerRoute());
+        }
+    }
+
+    @Test
+    public void connectionPoolMetrics_ExportPoolLimits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (PoolingHttpClientConnectionManager manager = config.shareitServerConnectionManager(50, 40,
+                Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMinutes(1), Duration.ofSeconds(2))) {
+            config.shareitServerConnectionPoolMetrics(manager).bindTo(registry);
+
+            assertEquals(50, registry.get("httpcomponents.httpclient.pool.total.max")
+                    .tag("httpclient", "shareit-server").gauge().value());
+            assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "leased").gauge().value());
+        }
+    }
+}
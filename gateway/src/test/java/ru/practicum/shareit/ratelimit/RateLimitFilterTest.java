@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private final RateLimiter limiter = new RateLimiter(Map.of(
+            EndpointClass.READ, new RateLimiter.Budget(0.001, 2),
+            EndpointClass.WRITE, new RateLimiter.Budget(0.001, 1),
+            EndpointClass.SEARCH, new RateLimiter.Budget(0.001, 1)),
+            100, Duration.ofMinutes(1));
+    private final RateLimitFilter filter = new RateLimitFilter(limiter);
+
+    @Test
+    public void doFilter_BudgetExhausted_ReturnsTooManyRequestsWithRetryAfter() throws Exception {
+        assertEquals(200, perform("GET", "/bookings", "1").getStatus());
+        assertEquals(200, perform("GET", "/bookings", "1").getStatus());
+
+        MockHttpServletResponse rejected = perform("GET", "/bookings", "1");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) > 0);
+        assertEquals(1, limiter.getRejectedCount(EndpointClass.READ));
+    }
+
+    @Test
+    public void doFilter_BudgetsAreSeparatePerUserAndClass() throws Exception {
+        assertEquals(200, perform("GET", "/items/search", "1").getStatus());
+        assertEquals(429, perform("GET", "/items/search", "1").getStatus());
+
+        assertEquals(200, perform("GET", "/items/search", "2").getStatus());
+        assertEquals(200, perform("GET", "/items/1", "1").getStatus());
+        assertEquals(200, perform("POST", "/items", "1").getStatus());
+    }
+
+    @Test
+    public void doFilter_NoUserHeader_IsNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform("GET", "/users", null).getStatus());
+        }
+        assertEquals(0, limiter.getTrackedUsers());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void tryConsume_BurstExhausted_ReturnsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 42 * SECOND;
+
+        assertEquals(0, bucket.tryConsume(now));
+        assertEquals(0, bucket.tryConsume(now));
+        assertEquals(0, bucket.tryConsume(now));
+
+        assertEquals(SECOND / 10, bucket.tryConsume(now));
+    }
+
+    @Test
+    public void tryConsume_AfterIdle_RefillsUpToCapacityOnly() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = -5 * SECOND;
+        bucket.tryConsume(now);
+        bucket.tryConsume(now);
+
+        long later = now + 60 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later) > 0);
+        assertEquals(0, bucket.tryConsume(later + SECOND / 10));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Идентификаторы засеянных пользователей: от их имени идут запросы нагрузки
+record Dataset(long[] userIds) {
+
+    long randomUserId(ThreadLocalRandom random) {
+        return userIds[random.nextInt(userIds.length)];
+    }
+}
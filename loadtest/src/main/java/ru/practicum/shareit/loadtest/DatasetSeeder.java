@@ -0,0 +1,184 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Засевает БД пачками INSERT напрямую через JDBC, в обход API: миллион строк через REST заняли бы часы.
+// Схема к этому моменту уже создана миграциями Flyway сервера. Почты помечены меткой прогона,
+// поэтому повторный засев в ту же базу Postgres не упирается в uq_user_email.
+final class DatasetSeeder {
+    static final String[] ITEM_WORDS = {
+            "drill", "saw", "ladder", "tent", "bike", "camera", "kayak", "projector", "guitar", "mixer",
+            "vacuum", "tripod", "hammer", "sleeping", "scooter", "printer", "grill", "skis", "jack", "router"
+    };
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "APPROVED", "APPROVED",
+            "APPROVED", "APPROVED", "WAITING", "WAITING", "REJECTED", "CANCELED"};
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final int batchSize;
+    private final Random random = new Random(42);
+
+    DatasetSeeder(String jdbcUrl, String user, String password, int batchSize) {
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+        this.batchSize = batchSize;
+    }
+
+    Dataset seed(LoadTestConfig.DatasetSize size) throws SQLException {
+        String runTag = Long.toString(System.currentTimeMillis(), 36);
+        LocalDateTime now = LocalDateTime.now();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            connection.setAutoCommit(false);
+
+            long[] userIds = insertUsers(connection, size.users(), runTag);
+            long[] requestIds = insertRequests(connection, size.requests(), userIds, now);
+            long[] itemIds = new long[size.items()];
+            long[] itemOwners = new long[size.items()];
+            insertItems(connection, itemIds, itemOwners, userIds, requestIds);
+            insertBookings(connection, size.bookings(), itemIds, itemOwners, userIds, now);
+            insertComments(connection, size.comments(), itemIds, userIds, now);
+            return new Dataset(userIds);
+        }
+    }
+
+    private long[] insertUsers(Connection connection, int count, String runTag) throws SQLException {
+        long[] ids = new long[count];
+        String sql = "INSERT INTO users (name, email) VALUES (?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, "Load user " + i);
+                statement.setString(2, "lt-" + runTag + "-" + i + "@load.test");
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == count - 1) {
+                    index = executeBatch(connection, statement, ids, index);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long[] insertRequests(Connection connection, int count, long[] userIds,
+                                  LocalDateTime now) throws SQLException {
+        long[] ids = new long[count];
+        String sql = "INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, "Looking for a " + word() + " for a few days");
+                statement.setLong(2, pick(userIds));
+                statement.setTimestamp(3, Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600))));
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == count - 1) {
+                    index = executeBatch(connection, statement, ids, index);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void insertItems(Connection connection, long[] ids, long[] owners, long[] userIds,
+                             long[] requestIds) throws SQLException {
+        String sql = "INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            int index = 0;
+            for (int i = 0; i < ids.length; i++) {
+                String word = word();
+                owners[i] = pick(userIds);
+                statement.setString(1, capitalize(word) + " " + i);
+                statement.setString(2, "Well kept " + word + ", pick up in the evening, " + word() + " included");
+                statement.setBoolean(3, random.nextInt(10) != 0);
+                statement.setLong(4, owners[i]);
+                // Каждая пятая вещь - ответ на запрос
+                if (requestIds.length > 0 && random.nextInt(5) == 0) {
+                    statement.setLong(5, pick(requestIds));
+                } else {
+                    statement.setNull(5, Types.BIGINT);
+                }
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == ids.length - 1) {
+                    index = executeBatch(connection, statement, ids, index);
+                }
+            }
+        }
+    }
+
+    // Бронирования за последний год и на квартал вперёд, длительностью от часа до трёх суток
+    private void insertBookings(Connection connection, int count, long[] itemIds, long[] itemOwners,
+                                long[] userIds, LocalDateTime now) throws SQLException {
+        String sql = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                int item = random.nextInt(itemIds.length);
+                // Владелец не бронирует свою вещь - берём соседнего пользователя
+                int booker = random.nextInt(userIds.length);
+                if (userIds[booker] == itemOwners[item] && userIds.length > 1) {
+                    booker = (booker + 1) % userIds.length;
+                }
+                LocalDateTime start = now.minusHours(8_760).plusHours(random.nextInt(10_920));
+                statement.setTimestamp(1, Timestamp.valueOf(start));
+                statement.setTimestamp(2, Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))));
+                statement.setLong(3, itemIds[item]);
+                statement.setLong(4, userIds[booker]);
+                statement.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == count - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private void insertComments(Connection connection, int count, long[] itemIds, long[] userIds,
+                                LocalDateTime now) throws SQLException {
+        String sql = "INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, "The " + word() + " worked fine, would rent again");
+                statement.setLong(2, pick(itemIds));
+                statement.setLong(3, pick(userIds));
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600))));
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0 || i == count - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static int executeBatch(Connection connection, PreparedStatement statement, long[] ids,
+                                    int index) throws SQLException {
+        statement.executeBatch();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids[index++] = keys.getLong(1);
+            }
+        }
+        connection.commit();
+        return index;
+    }
+
+    private String word() {
+        return ITEM_WORDS[random.nextInt(ITEM_WORDS.length)];
+    }
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.boot.loader.launch.Archive;
+import org.springframework.boot.loader.launch.JarLauncher;
+import org.springframework.boot.loader.launch.LaunchedClassLoader;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Запускает исполняемый jar Spring Boot внутри текущей JVM в собственном загрузчике классов.
+// У сервера и гейтвея совпадают имена классов (контроллеры, DTO), поэтому общий classpath невозможен;
+// родитель загрузчика - платформенный, чтобы библиотеки генератора не подменяли библиотеки приложения.
+final class EmbeddedApplication extends JarLauncher {
+    private final String name;
+
+    private EmbeddedApplication(String name, Path jar) throws Exception {
+        super(Archive.create(jar.toFile()));
+        this.name = name;
+    }
+
+    static EmbeddedApplication of(String name, Path jar) throws Exception {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(name + " jar not found: " + jar.toAbsolutePath()
+                    + " (build it first: mvn -Ploadtest verify -DskipTests)");
+        }
+        return new EmbeddedApplication(name, jar);
+    }
+
+    // Возвращается, когда контекст приложения поднят и Tomcat слушает порт
+    void start(String... args) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                launch(args);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, name + "-launcher");
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Could not start " + name, failure.get());
+        }
+    }
+
+    @Override
+    protected ClassLoader createClassLoader(Collection<URL> urls) throws Exception {
+        ClassLoader classLoader = new LaunchedClassLoader(isExploded(), getArchive(),
+                urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+        // Каждая копия Tomcat регистрирует глобальную URLStreamHandlerFactory, а это можно сделать
+        // только один раз на JVM. Фабрика нужна лишь для jar:war: адресов упакованных war - отключаем.
+        classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                .getMethod("disable")
+                .invoke(null);
+        return classLoader;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest;
+
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.DriverManager;
+
+// Режим in-process: H2 в режиме TCP-сервера, сервер ShareIt на нём и гейтвей перед сервером - всё в JVM генератора.
+// H2 доступен по TCP, потому что у сервера своя копия драйвера в отдельном загрузчике, а засев идёт из генератора.
+final class EmbeddedStack implements AutoCloseable {
+    private final Server database;
+    private final String jdbcUrl;
+    private final String gatewayUrl;
+
+    private EmbeddedStack(Server database, String jdbcUrl, String gatewayUrl) {
+        this.database = database;
+        this.jdbcUrl = jdbcUrl;
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    static EmbeddedStack start(LoadTestConfig config) throws Exception {
+        int databasePort = freePort();
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+
+        // DriverManager один раз ищет драйверы через загрузчик контекста первого вызвавшего потока.
+        // Если первым окажется поток приложения, драйверы с classpath генератора не зарегистрируются.
+        DriverManager.getDrivers();
+
+        Server database = Server.createTcpServer("-tcpPort", String.valueOf(databasePort), "-ifNotExists").start();
+        String jdbcUrl = "jdbc:h2:tcp://localhost:" + databasePort + "/mem:shareit;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        try {
+            EmbeddedApplication.of("server", config.serverJar()).start(
+                    "--server.port=" + serverPort,
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.transaction.interceptor=WARN",
+                    "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+
+            // Ограничение частоты на пользователя отключено: меряем пропускную способность, а не лимиты
+            EmbeddedApplication.of("gateway", config.gatewayJar()).start(
+                    "--server.port=" + gatewayPort,
+                    "--shareit-server.url=http://localhost:" + serverPort,
+                    "--shareit.rate-limit.enabled=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        } catch (Exception e) {
+            database.stop();
+            throw e;
+        }
+        return new EmbeddedStack(database, jdbcUrl, "http://localhost:" + gatewayPort);
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String gatewayUrl() {
+        return gatewayUrl;
+    }
+
+    @Override
+    public void close() {
+        database.stop();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
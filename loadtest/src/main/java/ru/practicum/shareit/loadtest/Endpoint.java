@@ -0,0 +1,52 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Эндпоинты гейтвея в смеси нагрузки. Пользователя выбирает генератор, слово поиска - из словаря DatasetSeeder.
+enum Endpoint {
+    BOOKINGS("bookings") {
+        @Override
+        String path(ThreadLocalRandom random) {
+            return "/bookings?state=ALL&from=0&size=10";
+        }
+    },
+    SEARCH("search") {
+        @Override
+        String path(ThreadLocalRandom random) {
+            return "/items/search?text=" + DatasetSeeder.ITEM_WORDS[random.nextInt(DatasetSeeder.ITEM_WORDS.length)];
+        }
+    },
+    ITEMS("items") {
+        @Override
+        String path(ThreadLocalRandom random) {
+            return "/items";
+        }
+    },
+    REQUESTS_ALL("requests-all") {
+        @Override
+        String path(ThreadLocalRandom random) {
+            return "/requests/all?from=0&size=10";
+        }
+    };
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract String path(ThreadLocalRandom random);
+
+    static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + key);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Задержки одного эндпоинта в микросекундах (до минуты, 3 значащие цифры) и счётчики ответов не 2xx.
+// Статус 0 - ошибка ввода-вывода или таймаут без ответа.
+final class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status < 200 || status >= 300) {
+            failures.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long failureCount() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<Integer, Long> failuresByStatus() {
+        Map<Integer, Long> result = new TreeMap<>();
+        failures.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Каждый клиент - виртуальный поток, который шлёт запросы по смеси эндпоинтов.
+// При rate > 0 клиенты идут по расписанию (rate / concurrency запросов в секунду каждый), и задержка
+// считается от запланированного момента отправки: если гейтвей притормозил, ожидание в очереди тоже
+// попадает в гистограмму (поправка на coordinated omission). При rate = 0 - замкнутый цикл без пауз.
+final class LoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String gatewayUrl;
+    private final Dataset dataset;
+    private final WorkloadMix mix;
+    private final int concurrency;
+    private final double rate;
+
+    LoadGenerator(HttpClient client, String gatewayUrl, Dataset dataset, WorkloadMix mix,
+                  int concurrency, double rate) {
+        this.client = client;
+        this.gatewayUrl = gatewayUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.rate = rate;
+    }
+
+    Map<Endpoint, EndpointStats> run(Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : mix.endpoints()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        long intervalNanos = rate > 0 ? (long) (concurrency * 1_000_000_000L / rate) : 0;
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                // Разносим старты клиентов по первому интервалу, чтобы не стрелять залпом
+                long firstSend = intervalNanos > 0 ? started + intervalNanos * i / concurrency : started;
+                executor.submit(() -> runClient(stats, firstSend, intervalNanos, deadline));
+            }
+        }
+        return stats;
+    }
+
+    private void runClient(Map<Endpoint, EndpointStats> stats, long firstSend, long intervalNanos, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intended = firstSend;
+        while (true) {
+            long now = System.nanoTime();
+            if (intervalNanos > 0) {
+                if (intended > now) {
+                    LockSupport.parkNanos(intended - now);
+                }
+            } else {
+                intended = now;
+            }
+            if (intended >= deadline) {
+                return;
+            }
+            Endpoint endpoint = mix.next(random);
+            int status = send(endpoint.path(random), dataset.randomUserId(random));
+            stats.get(endpoint).record(System.nanoTime() - intended, status);
+            intended += intervalNanos;
+        }
+    }
+
+    private int send(String path, long userId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
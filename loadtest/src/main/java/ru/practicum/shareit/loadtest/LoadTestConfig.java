@@ -0,0 +1,80 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Параметры прогона из системных свойств loadtest.*; значения по умолчанию заданы в loadtest/pom.xml
+record LoadTestConfig(Mode mode,
+                      String gatewayUrl,
+                      String jdbcUrl,
+                      String jdbcUser,
+                      String jdbcPassword,
+                      DatasetSize datasetSize,
+                      int batchSize,
+                      WorkloadMix mix,
+                      int concurrency,
+                      double rate,
+                      Duration warmup,
+                      Duration duration,
+                      Path output,
+                      Path serverJar,
+                      Path gatewayJar) {
+
+    enum Mode {
+        IN_PROCESS,
+        COMPOSE;
+
+        static Mode parse(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    record DatasetSize(int users, int requests, int items, int bookings, int comments) {
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Mode.parse(property("mode", "in-process")),
+                property("gateway-url", "http://localhost:8080"),
+                property("jdbc-url", "jdbc:postgresql://localhost:5432/shareit?reWriteBatchedInserts=true"),
+                property("jdbc-user", "postgres"),
+                property("jdbc-password", "postgres"),
+                new DatasetSize(
+                        intProperty("users", 1000),
+                        intProperty("requests", 500),
+                        intProperty("items", 5000),
+                        intProperty("bookings", 50000),
+                        intProperty("comments", 10000)),
+                intProperty("batch-size", 1000),
+                WorkloadMix.parse(property("mix", "bookings:30,search:30,items:25,requests-all:15")),
+                intProperty("concurrency", 200),
+                Double.parseDouble(property("rate", "0")),
+                parseDuration(property("warmup", "10s")),
+                parseDuration(property("duration", "60s")),
+                Path.of(property("output", "target/loadtest")),
+                Path.of(property("server-jar", "../server/target/shareit-server-0.0.1-SNAPSHOT.jar")),
+                Path.of(property("gateway-jar", "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")));
+    }
+
+    // 500ms, 30s, 5m
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// Засев данных и прогон смеси GET-запросов через гейтвей. Параметры - см. LoadTestConfig и loadtest/pom.xml.
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            run(LoadTestConfig.fromSystemProperties());
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // Tomcat встроенных приложений держит не-демон потоки: без exit JVM не завершится
+        System.exit(status);
+    }
+
+    private static void run(LoadTestConfig config) throws Exception {
+        EmbeddedStack stack = null;
+        try {
+            String gatewayUrl = config.gatewayUrl();
+            DatasetSeeder seeder;
+            if (config.mode() == LoadTestConfig.Mode.IN_PROCESS) {
+                System.out.println("Starting H2, server and gateway in-process...");
+                stack = EmbeddedStack.start(config);
+                gatewayUrl = stack.gatewayUrl();
+                seeder = new DatasetSeeder(stack.jdbcUrl(), "sa", "", config.batchSize());
+            } else {
+                seeder = new DatasetSeeder(config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword(),
+                        config.batchSize());
+            }
+
+            long seedStarted = System.nanoTime();
+            Dataset dataset = seeder.seed(config.datasetSize());
+            System.out.printf("Seeded %s in %,d ms%n", config.datasetSize(),
+                    (System.nanoTime() - seedStarted) / 1_000_000);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client, gatewayUrl, dataset, config.mix(),
+                    config.concurrency(), config.rate());
+
+            System.out.printf("Target %s, mix %s, clients %d, rate %s%n", gatewayUrl, config.mix(),
+                    config.concurrency(), config.rate() > 0 ? config.rate() + " req/s" : "unbounded");
+            if (!config.warmup().isZero()) {
+                System.out.printf("Warmup %d s...%n", config.warmup().toSeconds());
+                generator.run(config.warmup());
+            }
+            System.out.printf("Measuring %d s...%n", config.duration().toSeconds());
+            Map<Endpoint, EndpointStats> stats = generator.run(config.duration());
+
+            report(stats, config.duration(), System.out);
+            writeHistograms(stats, config.output());
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+
+    private static void report(Map<Endpoint, EndpointStats> stats, Duration duration, PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        Histogram total = new Histogram(3);
+        long totalFailures = 0;
+
+        out.printf("%n%-14s %10s %10s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors",
+                "by status");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies();
+            total.add(histogram);
+            totalFailures += entry.getValue().failureCount();
+            printRow(out, entry.getKey().key(), histogram, seconds, entry.getValue().failureCount(),
+                    entry.getValue().failuresByStatus().toString());
+        }
+        printRow(out, "total", total, seconds, totalFailures, "");
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds,
+                                 long failures, String byStatus) {
+        out.printf("%-14s %,10d %,10.0f %9.2f %9.2f %9.2f %9.2f %9.2f %,9d  %s%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), failures, failures > 0 ? byStatus : "");
+    }
+
+    // Формат .hgrm открывается в HdrHistogram Plotter; значения в миллисекундах
+    private static void writeHistograms(Map<Endpoint, EndpointStats> stats, Path output) throws IOException {
+        Files.createDirectories(output);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Path file = output.resolve(entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Histograms written to " + output.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// В архиве только завершившиеся бронирования: запросы к bookings читают его, когда живых строк не хватило
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    String ARCHIVED_RESPONSE_FROM = "FROM ArchivedBooking b JOIN b.item i LEFT JOIN i.request r JOIN b.booker u ";
+
+    String ARCHIVED_INFO_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingInfoDto(" +
+            "b.id, b.booker.id, b.item.id) " +
+            "FROM ArchivedBooking b ";
+
+    List<ArchivedBooking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    List<ArchivedBooking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+
+    List<ArchivedBooking> findByItemOwnerIdAndStatusOrderByStartDesc(
+            Long ownerId, BookingStatus status, Pageable pageable);
+
+    boolean existsByItemIdAndBookerId(Long itemId, Long bookerId);
+
+    @Query(BookingRepository.BOOKING_RESPONSE_SELECT + ARCHIVED_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findResponseDtosByBookerId(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query(BookingRepository.BOOKING_RESPONSE_SELECT + ARCHIVED_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "AND b.status = :status " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findResponseDtosByBookerIdAndStatus(
+            @Param("bookerId") Long bookerId, @Param("status") BookingStatus status, Pageable pageable);
+
+    @Query(ARCHIVED_INFO_SELECT +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "ORDER BY b.end DESC")
+    List<BookingInfoDto> findInfosByItemIdAndStatus(
+            @Param("itemId") Long itemId, @Param("status") BookingStatus status, Pageable pageable);
+
+    @Query(ARCHIVED_INFO_SELECT +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "ORDER BY b.end DESC")
+    List<BookingInfoDto> findInfosByItemIdInAndStatus(
+            @Param("itemIds") List<Long> itemIds, @Param("status") BookingStatus status);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, start, end, item, booker, status) " +
+            "SELECT b.id, b.start, b.end, b.item, b.booker, b.status FROM Booking b " +
+            "WHERE b.id IN :ids " +
+            "AND b.end < :cutoff")
+    int copyFromBookings(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+}
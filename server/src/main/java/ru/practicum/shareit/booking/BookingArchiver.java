@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.bookings.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingArchiver {
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           ArchivedBookingRepository archivedBookingRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${shareit.bookings.archive.retention:P365D}") Duration retention,
+                           @Value("${shareit.bookings.archive.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${shareit.bookings.archive.cron:0 30 3 * * *}")
+    public void archiveExpiredBookings() {
+        archiveEndedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    public int archiveEndedBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        int moved;
+        do {
+            // Каждая пачка переносится в своей транзакции, чтобы не держать блокировки на всю историю
+            moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+
+        if (archived > 0) {
+            log.info("Archived {} bookings ended before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = bookingRepository.findIdsByEndBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedBookingRepository.copyFromBookings(ids, cutoff);
+        bookingRepository.deleteByIdInAndEndBefore(ids, cutoff);
+        return ids.size();
+    }
+}
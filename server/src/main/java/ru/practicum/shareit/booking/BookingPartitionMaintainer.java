@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Помесячные секции bookings по end_date (только Postgres, см. db/migration/postgresql/V2__create_bookings.sql)
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.bookings.partitioning.enabled", havingValue = "true")
+public class BookingPartitionMaintainer {
+    private static final String PARTITION_PREFIX = "bookings_p";
+    private static final DateTimeFormatter SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final Duration retention;
+
+    public BookingPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${shareit.bookings.partitioning.months-ahead:3}") int monthsAhead,
+                                      @Value("${shareit.bookings.archive.retention:P365D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.bookings.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        RuntimeException failure = null;
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                createPartition(current.plusMonths(i));
+            } catch (RuntimeException e) {
+                log.error("Could not create booking partition {}", partitionName(current.plusMonths(i)), e);
+                failure = e;
+            }
+        }
+        dropArchivedPartitions(LocalDateTime.now().minus(retention));
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Бронирования дальше months-ahead уже лежат в bookings_default, и секцию поверх них Postgres не создаст.
+    // Тогда default отсоединяется, секция создаётся, строки её месяца переносятся, default возвращается -
+    // всё в одной транзакции, bookings на это время заблокирована. Ошибка не глотается: месяц без секции
+    // будет расти в default до следующей попытки
+    void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        String from = month.atDay(1).atStartOfDay().format(BOUND_FORMATTER);
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().format(BOUND_FORMATTER);
+        String create = "CREATE TABLE " + name + " PARTITION OF bookings " +
+                "FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        String range = " WHERE end_date >= '" + from + "' AND end_date < '" + to + "'";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Запись в bookings ждёт до конца транзакции, чтобы в default не появились строки после проверки
+            jdbcTemplate.execute("LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE");
+            Boolean inDefault = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM bookings_default" + range + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(inDefault)) {
+                jdbcTemplate.execute(create);
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION bookings_default");
+            jdbcTemplate.execute(create);
+            int moved = jdbcTemplate.update("INSERT INTO bookings SELECT * FROM bookings_default" + range);
+            jdbcTemplate.update("DELETE FROM bookings_default" + range);
+            jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION bookings_default DEFAULT");
+            log.info("Moved {} bookings from bookings_default to new partition {}", moved, name);
+        });
+    }
+
+    // Секции целиком старше окна хранения уже опустошены BookingArchiver'ом
+    void dropArchivedPartitions(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'bookings'", String.class);
+
+        for (String name : partitions) {
+            YearMonth month = parseMonth(name);
+            if (month == null || month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                log.info("Dropped archived booking partition {}", name);
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMATTER);
+    }
+
+    static YearMonth parseMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)
+                || partitionName.length() != PARTITION_PREFIX.length() + 6) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX_FORMATTER);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
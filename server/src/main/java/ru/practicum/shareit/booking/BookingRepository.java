@@ -2,24 +2,29 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    // Проекции для чтения: DTO собираются прямо из выборки, сущности в контекст не попадают
+    String BOOKING_RESPONSE_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, i.owner.id, r.id, " +
+            "u.id, u.name, u.email) ";
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
+    String BOOKING_INFO_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingInfoDto(" +
+            "b.id, b.booker.id, b.item.id) " +
+            "FROM Booking b ";
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
+    String BOOKING_RESPONSE_FROM = "FROM Booking b JOIN b.item i LEFT JOIN i.request r JOIN b.booker u ";
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
+    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
 
     List<Booking> findByItemIdAndBookerIdAndEndBefore(Long itemId, Long bookerId, LocalDateTime end);
 
@@ -37,36 +42,97 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByItemIdAndBookerIdAndEndBeforeAndStatus(
             Long itemId, Long bookerId, LocalDateTime end, BookingStatus status);
 
-    List<Booking> findByItemIdAndStatusNot(Long itemId, BookingStatus status);
+    // Условие по end_date отсекает прошедшие секции bookings
+    List<Booking> findByItemIdAndStatusNotAndEndGreaterThanEqualAndStartLessThanEqual(
+            Long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
 
     List<Booking> findByItemIdAndEndBeforeOrderByEndDesc(Long itemId, LocalDateTime end);
 
     List<Booking> findByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime start);
 
-    Optional<Booking> findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(
-            Long itemId, LocalDateTime end, BookingStatus status);
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.end < :cutoff " +
+            "ORDER BY b.end ASC")
+    List<Long> findIdsByEndBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Booking b " +
+            "WHERE b.id IN :ids " +
+            "AND b.end < :cutoff")
+    int deleteByIdInAndEndBefore(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(BOOKING_RESPONSE_SELECT + BOOKING_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findResponseDtosByBookerId(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query(BOOKING_RESPONSE_SELECT + BOOKING_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "AND b.start < :now " +
+            "AND b.end > :now " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findCurrentResponseDtosByBookerId(
+            @Param("bookerId") Long bookerId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_RESPONSE_SELECT + BOOKING_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "AND b.end < :now " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findPastResponseDtosByBookerId(
+            @Param("bookerId") Long bookerId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_RESPONSE_SELECT + BOOKING_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "AND b.start > :now " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findFutureResponseDtosByBookerId(
+            @Param("bookerId") Long bookerId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_RESPONSE_SELECT + BOOKING_RESPONSE_FROM +
+            "WHERE u.id = :bookerId " +
+            "AND b.status = :status " +
+            "ORDER BY b.start DESC")
+    List<BookingResponseDto> findResponseDtosByBookerIdAndStatus(
+            @Param("bookerId") Long bookerId, @Param("status") BookingStatus status, Pageable pageable);
 
-    Optional<Booking> findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-            Long itemId, LocalDateTime start, BookingStatus status);
+    @Query(BOOKING_INFO_SELECT +
+            "WHERE b.item.id = :itemId " +
+            "AND b.end < :end " +
+            "AND b.status = :status " +
+            "ORDER BY b.end DESC")
+    List<BookingInfoDto> findInfosByItemIdAndEndBeforeAndStatus(
+            @Param("itemId") Long itemId,
+            @Param("end") LocalDateTime end,
+            @Param("status") BookingStatus status,
+            Pageable pageable);
+
+    @Query(BOOKING_INFO_SELECT +
+            "WHERE b.item.id = :itemId " +
+            "AND b.start > :start " +
+            "AND b.status = :status " +
+            "ORDER BY b.start ASC")
+    List<BookingInfoDto> findInfosByItemIdAndStartAfterAndStatus(
+            @Param("itemId") Long itemId,
+            @Param("start") LocalDateTime start,
+            @Param("status") BookingStatus status,
+            Pageable pageable);
 
-    // Оставляем @Query, так как нужна фильтрация по списку ID
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_INFO_SELECT +
             "WHERE b.item.id IN :itemIds " +
             "AND b.end < :end " +
             "AND b.status = :status " +
             "ORDER BY b.end DESC")
-    List<Booking> findByItemIdInAndEndBeforeAndStatusOrderByEndDesc(
+    List<BookingInfoDto> findInfosByItemIdInAndEndBeforeAndStatus(
             @Param("itemIds") List<Long> itemIds,
             @Param("end") LocalDateTime end,
             @Param("status") BookingStatus status);
 
-    // Оставляем @Query, так как нужна фильтрация по списку ID
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_INFO_SELECT +
             "WHERE b.item.id IN :itemIds " +
             "AND b.start > :start " +
             "AND b.status = :status " +
             "ORDER BY b.start ASC")
-    List<Booking> findByItemIdInAndStartAfterAndStatusOrderByStartAsc(
+    List<BookingInfoDto> findInfosByItemIdInAndStartAfterAndStatus(
             @Param("itemIds") List<Long> itemIds,
             @Param("start") LocalDateTime start,
             @Param("status") BookingStatus status);
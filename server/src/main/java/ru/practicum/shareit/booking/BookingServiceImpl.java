@@ -18,7 +18,9 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +31,7 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     @Override
     @Transactional
@@ -71,15 +74,23 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingResponseDto getBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking != null) {
+            checkAccess(bookingId, booking.getBooker(), booking.getItem(), userId);
+            return BookingMapper.toBookingResponseDto(booking);
+        }
+
+        // Давно завершившееся бронирование могло уйти в архив
+        ArchivedBooking archived = archivedBookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found with id: " + bookingId));
+        checkAccess(bookingId, archived.getBooker(), archived.getItem(), userId);
+        return BookingMapper.toBookingResponseDto(archived);
+    }
 
-        if (!booking.getBooker().getId().equals(userId) &&
-                !booking.getItem().getOwner().getId().equals(userId)) {
+    private void checkAccess(Long bookingId, User booker, Item item, Long userId) {
+        if (!booker.getId().equals(userId) && !item.getOwner().getId().equals(userId)) {
             throw new NotFoundException("User " + userId + " does not have access to booking " + bookingId);
         }
-
-        return BookingMapper.toBookingResponseDto(booking);
     }
 
     @Override
@@ -87,38 +98,36 @@ public class BookingServiceImpl implements BookingService {
         getUserById(userId);
 
         BookingState bookingState = BookingState.parseState(state);
-        Pageable pageable = createPageable(from, size, Sort.by(Sort.Direction.DESC, "start"));
-
-        List<Booking> bookings;
+        // Порядок задан в самих проекциях
+        Pageable pageable = createPageable(from, size, Sort.unsorted());
         LocalDateTime now = LocalDateTime.now();
 
         switch (bookingState) {
             case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now, pageable);
-                break;
+                return bookingRepository.findCurrentResponseDtosByBookerId(userId, now, pageable);
             case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-                break;
+                return withArchived(pageable,
+                        page -> bookingRepository.findPastResponseDtosByBookerId(userId, now, page),
+                        page -> archivedBookingRepository.findResponseDtosByBookerId(userId, page));
             case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
-                break;
+                return bookingRepository.findFutureResponseDtosByBookerId(userId, now, pageable);
             case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
-                break;
+                return getBookerBookingsByStatus(userId, BookingStatus.WAITING, pageable);
             case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
-                break;
+                return getBookerBookingsByStatus(userId, BookingStatus.REJECTED, pageable);
             case ALL:
             default:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable);
+                return withArchived(pageable,
+                        page -> bookingRepository.findResponseDtosByBookerId(userId, page),
+                        page -> archivedBookingRepository.findResponseDtosByBookerId(userId, page));
         }
+    }
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    private List<BookingResponseDto> getBookerBookingsByStatus(Long userId, BookingStatus status,
+                                                               Pageable pageable) {
+        return withArchived(pageable,
+                page -> bookingRepository.findResponseDtosByBookerIdAndStatus(userId, status, page),
+                page -> archivedBookingRepository.findResponseDtosByBookerIdAndStatus(userId, status, page));
     }
 
     @Override
@@ -137,57 +146,139 @@ public class BookingServiceImpl implements BookingService {
                         userId, now, now, pageable);
                 break;
             case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-                break;
+                return withArchived(pageable,
+                        page -> toResponseDtos(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(
+                                userId, now, page)),
+                        page -> toArchivedResponseDtos(
+                                archivedBookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page)));
             case FUTURE:
                 bookings = bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
-                break;
+                return getOwnerBookingsByStatus(userId, BookingStatus.WAITING, pageable);
             case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
-                break;
+                return getOwnerBookingsByStatus(userId, BookingStatus.REJECTED, pageable);
             case ALL:
             default:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageable);
+                return withArchived(pageable,
+                        page -> toResponseDtos(bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page)),
+                        page -> toArchivedResponseDtos(
+                                archivedBookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page)));
+        }
+
+        return toResponseDtos(bookings);
+    }
+
+    private List<BookingResponseDto> getOwnerBookingsByStatus(Long userId, BookingStatus status,
+                                                              Pageable pageable) {
+        return withArchived(pageable,
+                page -> toResponseDtos(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
+                        userId, status, page)),
+                page -> toArchivedResponseDtos(archivedBookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
+                        userId, status, page)));
+    }
+
+    // Живые и архивные бронирования сливаются по start DESC (при равенстве живые первыми). Обычно все живые
+    // начались не раньше самого нового архивного: тогда страница - запрос к живым и одна строка архива. Иначе (долгие
+    // бронирования, граница живых и архива) обе выборки читаются с начала до конца страницы и сливаются
+    private List<BookingResponseDto> withArchived(Pageable pageable,
+                                                  Function<Pageable, List<BookingResponseDto>> liveQuery,
+                                                  Function<Pageable, List<BookingResponseDto>> archiveQuery) {
+        List<BookingResponseDto> live = liveQuery.apply(pageable);
+        boolean livePageFull = live.size() == pageable.getPageSize();
+        if (livePageFull) {
+            List<BookingResponseDto> newestArchived =
+                    archiveQuery.apply(new OffsetPageRequest(0, 1, pageable.getSort()));
+            if (newestArchived.isEmpty()
+                    || !live.get(live.size() - 1).getStart().isBefore(newestArchived.get(0).getStart())) {
+                return live;
+            }
         }
 
+        int pageEnd = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+        Pageable head = new OffsetPageRequest(0, pageEnd, pageable.getSort());
+        List<BookingResponseDto> liveHead = pageable.getOffset() == 0 && !livePageFull ? live : liveQuery.apply(head);
+        List<BookingResponseDto> merged = mergeByStartDesc(liveHead, archiveQuery.apply(head));
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        return new ArrayList<>(merged.subList(from, Math.min(pageEnd, merged.size())));
+    }
+
+    private static List<BookingResponseDto> mergeByStartDesc(List<BookingResponseDto> live,
+                                                             List<BookingResponseDto> archived) {
+        List<BookingResponseDto> merged = new ArrayList<>(live.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < live.size() || j < archived.size()) {
+            if (j == archived.size()
+                    || i < live.size() && !live.get(i).getStart().isBefore(archived.get(j).getStart())) {
+                merged.add(live.get(i++));
+            } else {
+                merged.add(archived.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private List<BookingResponseDto> toResponseDtos(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<BookingResponseDto> toArchivedResponseDtos(List<ArchivedBooking> bookings) {
         return bookings.stream()
                 .map(BookingMapper::toBookingResponseDto)
                 .collect(Collectors.toList());
     }
 
     private void validateBooking(BookingRequestDto bookingRequestDto, Item item, User booker) {
-        if (!item.getAvailable()) {
-            throw new ValidationException("Item is not available for booking");
-        }
+        BookingValidationEvent event = new BookingValidationEvent();
+        event.begin();
+        event.itemId = item.getId();
+        try {
+            if (!item.getAvailable()) {
+                throw new ValidationException("Item is not available for booking");
+            }
 
-        if (item.getOwner().getId().equals(booker.getId())) {
-            throw new NotFoundException("Owner cannot book their own item");
-        }
+            if (item.getOwner().getId().equals(booker.getId())) {
+                throw new NotFoundException("Owner cannot book their own item");
+            }
 
-        if (bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
-            throw new ValidationException("End date must be after start date");
-        }
+            if (bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
+                throw new ValidationException("End date must be after start date");
+            }
 
-        if (bookingRequestDto.getEnd().equals(bookingRequestDto.getStart())) {
-            throw new ValidationException("Start and end dates cannot be equal");
-        }
+            if (bookingRequestDto.getEnd().equals(bookingRequestDto.getStart())) {
+                throw new ValidationException("Start and end dates cannot be equal");
+            }
 
-        List<Booking> overlappingBookings = bookingRepository.findByItemIdAndStatusNot(
-                item.getId(), BookingStatus.REJECTED);
+            // Завершившиеся до начала нового бронирования не пересекаются с ним, их не читаем
+            List<Booking> overlappingBookings = bookingRepository
+                    .findByItemIdAndStatusNotAndEndGreaterThanEqualAndStartLessThanEqual(
+                            item.getId(), BookingStatus.REJECTED,
+                            bookingRequestDto.getStart(), bookingRequestDto.getEnd());
+            event.candidates = overlappingBookings.size();
 
-        for (Booking existingBooking : overlappingBookings) {
-            if (isOverlapping(bookingRequestDto, existingBooking)) {
+            if (overlapsAny(bookingRequestDto, overlappingBookings)) {
                 throw new ValidationException("Booking overlaps with existing booking");
             }
+        } finally {
+            event.commit();
+        }
+    }
+
+    // Пакетная видимость - для JMH-бенчмарка в модуле benchmarks
+    static boolean overlapsAny(BookingRequestDto newBooking, List<Booking> existingBookings) {
+        for (Booking existingBooking : existingBookings) {
+            if (isOverlapping(newBooking, existingBooking)) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private boolean isOverlapping(BookingRequestDto newBooking, Booking existingBooking) {
+    private static boolean isOverlapping(BookingRequestDto newBooking, Booking existingBooking) {
         return !(newBooking.getEnd().isBefore(existingBooking.getStart()) ||
                 newBooking.getStart().isAfter(existingBooking.getEnd()));
     }
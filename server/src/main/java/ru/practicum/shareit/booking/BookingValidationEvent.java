@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Событие JFR на каждую проверку нового бронирования; длительность - от начала проверок до поиска пересечений.
+// Без включённой записи commit() почти бесплатен, стек не пишется
+@Name("ru.practicum.shareit.BookingValidation")
+@Label("Booking Validation")
+@Category({"ShareIt", "Booking"})
+@Description("BookingServiceImpl.validateBooking")
+@StackTrace(false)
+class BookingValidationEvent extends Event {
+    @Label("Item Id")
+    long itemId;
+
+    @Label("Candidate Bookings")
+    @Description("Бронирования вещи, пересекающие интервал по датам, которые проверялись на наложение")
+    int candidates;
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,4 +13,8 @@ import lombok.NoArgsConstructor;
 public class BookingInfoDto {
     private Long id;
     private Long bookerId;
+
+    // Нужен только для группировки по вещам в ItemServiceImpl.getAllItems
+    @JsonIgnore
+    private Long itemId;
 }
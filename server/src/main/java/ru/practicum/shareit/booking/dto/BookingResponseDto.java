@@ -21,4 +21,28 @@ public class BookingResponseDto {
     private ItemDto item;
     private UserDto booker;
     private BookingStatus status;
+
+    // Используется в JPQL-проекциях BookingRepository: вещь и автор приходят плоскими колонками
+    public BookingResponseDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                              Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                              Long itemOwnerId, Long itemRequestId,
+                              Long bookerId, String bookerName, String bookerEmail) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = ItemDto.builder()
+                .id(itemId)
+                .name(itemName)
+                .description(itemDescription)
+                .available(itemAvailable)
+                .ownerId(itemOwnerId)
+                .requestId(itemRequestId)
+                .build();
+        this.booker = UserDto.builder()
+                .id(bookerId)
+                .name(bookerName)
+                .email(bookerEmail)
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.mapper;
 
+import ru.practicum.shareit.booking.ArchivedBooking;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
@@ -24,6 +25,21 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingResponseDto toBookingResponseDto(ArchivedBooking booking) {
+        if (booking == null) {
+            return null;
+        }
+
+        return BookingResponseDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(ItemMapper.toItemDto(booking.getItem()))
+                .booker(UserMapper.toDto(booking.getBooker()))
+                .status(booking.getStatus())
+                .build();
+    }
+
     public static Booking toBooking(BookingRequestDto bookingRequestDto) {
         if (bookingRequestDto == null) {
             return null;
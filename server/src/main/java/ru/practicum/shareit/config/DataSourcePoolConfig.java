@@ -0,0 +1,46 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class DataSourcePoolConfig {
+
+    // Размер пула по формуле из вики PostgreSQL: ядра * 2 + 1, но не больше ожидаемой конкурентности.
+    // Явно заданный shareit.datasource.pool.size (больше 0) имеет приоритет, а стандартный
+    // spring.datasource.hikari.maximum-pool-size, если задан, не переписывается вовсе.
+    static int poolSize(int cores, int expectedConcurrency) {
+        return Math.max(2, Math.min(cores * 2 + 1, expectedConcurrency));
+    }
+
+    @Bean
+    public static DataSourceWrapper hikariPoolSizer(
+            @Value("${spring.datasource.hikari.maximum-pool-size:#{null}}") Integer hikariMaximumPoolSize,
+            @Value("${shareit.datasource.pool.size:0}") int configuredPoolSize,
+            @Value("${shareit.datasource.pool.expected-concurrency:20}") int expectedConcurrency,
+            @Value("${shareit.datasource.pool.track-waiters:true}") boolean trackWaiters) {
+        return new DataSourceWrapper(DataSourceWrapper.POOL, dataSource -> {
+            if (!(dataSource instanceof HikariDataSource hikari)) {
+                return dataSource;
+            }
+            if (hikariMaximumPoolSize != null) {
+                log.info("Hikari pool size {} from spring.datasource.hikari.maximum-pool-size{}",
+                        hikari.getMaximumPoolSize(), configuredPoolSize > 0
+                                ? ", shareit.datasource.pool.size=" + configuredPoolSize + " ignored" : "");
+            } else if (configuredPoolSize > 0) {
+                hikari.setMaximumPoolSize(configuredPoolSize);
+                log.info("Hikari pool size {} from shareit.datasource.pool.size", configuredPoolSize);
+            } else {
+                int size = poolSize(Runtime.getRuntime().availableProcessors(), expectedConcurrency);
+                hikari.setMaximumPoolSize(size);
+                log.info("Hikari pool size {} computed from {} cores, expected concurrency {}",
+                        size, Runtime.getRuntime().availableProcessors(), expectedConcurrency);
+            }
+            return trackWaiters ? new PoolWaitTrackingDataSource(hikari) : hikari;
+        });
+    }
+}
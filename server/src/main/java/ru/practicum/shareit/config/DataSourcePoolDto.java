@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSourcePoolDto {
+    private String poolName;
+    private int maximumPoolSize;
+    private int minimumIdle;
+    private long leakDetectionThresholdMs;
+    private int active;
+    private int idle;
+    private int total;
+    private int pending;
+    private List<WaiterDto> waiters;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaiterDto {
+        private String thread;
+        private long waitingMs;
+        private List<String> stackTrace;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// /actuator/dbpool: состояние пула Hikari и потоки, ждущие соединение, со стеком вызова
+@Component
+@Endpoint(id = "dbpool")
+public class DataSourcePoolEndpoint {
+    private final DataSource dataSource;
+
+    public DataSourcePoolEndpoint(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @ReadOperation
+    public DataSourcePoolDto pool() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        DataSourcePoolDto.DataSourcePoolDtoBuilder result = DataSourcePoolDto.builder()
+                .poolName(hikari.getPoolName())
+                .maximumPoolSize(hikari.getMaximumPoolSize())
+                .minimumIdle(hikari.getMinimumIdle())
+                .leakDetectionThresholdMs(hikari.getLeakDetectionThreshold())
+                .waiters(getWaiters());
+
+        // До первого getConnection пул ещё не создан
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            result.active(pool.getActiveConnections())
+                    .idle(pool.getIdleConnections())
+                    .total(pool.getTotalConnections())
+                    .pending(pool.getThreadsAwaitingConnection());
+        }
+        return result.build();
+    }
+
+    private List<DataSourcePoolDto.WaiterDto> getWaiters() throws SQLException {
+        if (!dataSource.isWrapperFor(PoolWaitTrackingDataSource.class)) {
+            return List.of();
+        }
+        long now = System.nanoTime();
+        return dataSource.unwrap(PoolWaitTrackingDataSource.class).getWaiters().entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(waiter -> DataSourcePoolDto.WaiterDto.builder()
+                        .thread(waiter.getKey().getName())
+                        .waitingMs((now - waiter.getValue()) / 1_000_000)
+                        .stackTrace(Arrays.stream(waiter.getKey().getStackTrace())
+                                .map(StackTraceElement::toString)
+                                .toList())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.function.UnaryOperator;
+
+// Оборачивает DataSource приложения. Обёртки из разных конфигураций ставятся по возрастанию order:
+// меньший - ближе к пулу, больший - ближе к Hibernate
+public class DataSourceWrapper implements BeanPostProcessor, Ordered {
+    static final int POOL = Ordered.HIGHEST_PRECEDENCE;
+    static final int SLOW_QUERY = 100;
+    static final int TRACING = 200;
+    static final int COUNTING = 300;
+
+    private final int order;
+    private final UnaryOperator<DataSource> wrapper;
+
+    DataSourceWrapper(int order, UnaryOperator<DataSource> wrapper) {
+        this.order = order;
+        this.wrapper = wrapper;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrapper.apply(dataSource) : bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+// /actuator/jfr: запись JDK Flight Recorder без перезапуска сервера. Одна запись за раз.
+// GET - состояние, POST /start (settings, maxAge, maxSize) и POST /stop с Content-Type: application/json,
+// GET /download - файл .jfr; у идущей записи выгружается копия данных на текущий момент, запись продолжается.
+// По умолчанию не открыт (см. SHAREIT_ADMIN_ENDPOINTS), события с окружением процесса в запись не попадают
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint implements DisposableBean {
+    private static final String RECORDING_NAME = "shareit";
+    // Переменные окружения, системные свойства и аргументы JVM содержат пароль БД и другие секреты
+    static final List<String> SECRET_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final String defaultSettings;
+    @Nullable
+    private Recording recording;
+    @Nullable
+    private String recordingSettings;
+    @Nullable
+    private Path dumpFile;
+
+    public FlightRecorderEndpoint(@Value("${shareit.jfr.settings:default}") String defaultSettings) {
+        this.defaultSettings = defaultSettings;
+    }
+
+    @ReadOperation
+    public synchronized FlightRecordingDto status() {
+        if (recording == null) {
+            return FlightRecordingDto.builder().state("NONE").build();
+        }
+        return FlightRecordingDto.builder()
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(recordingSettings)
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getStopTime())
+                .sizeBytes(recording.getSize())
+                .maxAgeSeconds(recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize() > 0 ? recording.getMaxSize() : null)
+                .build();
+    }
+
+    @WriteOperation
+    public synchronized FlightRecordingDto control(@Selector String action, @Nullable String settings,
+                                                   @Nullable Duration maxAge, @Nullable DataSize maxSize) {
+        switch (action) {
+            case "start" -> start(settings != null ? settings : defaultSettings, maxAge, maxSize);
+            case "stop" -> stop();
+            default -> throw new InvalidEndpointRequestException("Unknown action: " + action,
+                    "Unknown action, expected start or stop");
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    @Nullable
+    public synchronized Resource download(@Selector String file) {
+        if (!"download".equals(file)) {
+            throw new InvalidEndpointRequestException("Unknown resource: " + file, "Unknown resource");
+        }
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        try {
+            Path target = dumpFile();
+            if (recording.getState() == RecordingState.RUNNING) {
+                try (Recording snapshot = recording.copy(true)) {
+                    snapshot.dump(target);
+                }
+            } else {
+                recording.dump(target);
+            }
+            return new FileSystemResource(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (recording != null) {
+            recording.close();
+        }
+        if (dumpFile != null) {
+            Files.deleteIfExists(dumpFile);
+        }
+    }
+
+    private void start(String settings, @Nullable Duration maxAge, @Nullable DataSize maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("Recording is already running",
+                    "Recording is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings,
+                    "Unknown JFR settings, expected default or profile");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        SECRET_EVENTS.forEach(started::disable);
+        if (maxAge != null) {
+            started.setMaxAge(maxAge);
+        }
+        if (maxSize != null) {
+            started.setMaxSize(maxSize.toBytes());
+        }
+        started.start();
+        recording = started;
+        recordingSettings = settings;
+    }
+
+    private void stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("No running recording", "No running recording");
+        }
+        recording.stop();
+    }
+
+    private Path dumpFile() throws IOException {
+        if (dumpFile == null) {
+            dumpFile = Files.createTempFile("shareit-", ".jfr");
+        }
+        return dumpFile;
+    }
+}
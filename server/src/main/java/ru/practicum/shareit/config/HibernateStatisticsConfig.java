@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Общие метрики hibernate.* (сессии, flush, запросы, кеши) регистрирует Spring Boot через hibernate-micrometer.
+// Здесь - загрузки и ленивые догрузки по типам сущностей, которых в hibernate.* нет
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateStatisticsConfig {
+    static final String ENTITY_LOADS = "shareit.hibernate.entity.loads";
+    static final String ENTITY_FETCHES = "shareit.hibernate.entity.fetches";
+
+    @Bean
+    public MeterBinder hibernateEntityMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String name : statistics.getEntityNames()) {
+                String entity = name.substring(name.lastIndexOf('.') + 1);
+                FunctionCounter.builder(ENTITY_LOADS, statistics,
+                                s -> s.getEntityStatistics(name).getLoadCount())
+                        .tag("entity", entity)
+                        .register(registry);
+                FunctionCounter.builder(ENTITY_FETCHES, statistics,
+                                s -> s.getEntityStatistics(name).getFetchCount())
+                        .tag("entity", entity)
+                        .register(registry);
+            }
+        };
+    }
+}
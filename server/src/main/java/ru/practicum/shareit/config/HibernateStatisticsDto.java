@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// Счётчики накоплены с момента start (запуск или последний DELETE), время запросов - в миллисекундах
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HibernateStatisticsDto {
+    private boolean enabled;
+    private Instant start;
+    private long sessions;
+    private long transactions;
+    private long flushes;
+    private long preparedStatements;
+    private long entityLoads;
+    private long entityFetches;
+    private long collectionLoads;
+    private long collectionFetches;
+    private long queryExecutions;
+    private CacheDto secondLevelCache;
+    private CacheDto queryCache;
+    private CacheDto queryPlanCache;
+    private List<QueryDto> topQueriesByCount;
+    private List<QueryDto> topQueriesByTime;
+    private List<EntityDto> entities;
+
+    // hitRatio = hits / (hits + misses), null, пока обращений к кешу не было
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheDto {
+        private long hits;
+        private long misses;
+        private long puts;
+        private Double hitRatio;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryDto {
+        private String query;
+        private long executions;
+        private long rows;
+        private long totalTimeMs;
+        private long avgTimeMs;
+        private long maxTimeMs;
+        private CacheDto cache;
+    }
+
+    // loads - все загрузки из БД, fetches - отдельные SELECT при обращении к ленивой связи (признак N+1)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntityDto {
+        private String entity;
+        private long loads;
+        private long fetches;
+        private long inserts;
+        private long updates;
+        private long deletes;
+        private CacheDto cache;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// /actuator/hibernatestats: запросы с наибольшим числом выполнений и суммарным временем (?top=, по умолчанию 10),
+// загрузки и ленивые догрузки по сущностям, доли попаданий во второй уровень кеша, кеш запросов и кеш планов.
+// Работает при hibernate.generate_statistics=true, иначе отдаёт enabled=false; DELETE обнуляет счётчики.
+// По умолчанию не открыт (см. SHAREIT_ADMIN_ENDPOINTS)
+@Component
+@Endpoint(id = "hibernatestats")
+public class HibernateStatisticsEndpoint {
+    private static final int DEFAULT_TOP = 10;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public HibernateStatisticsDto statistics(@Nullable Integer top) {
+        Statistics statistics = statistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return HibernateStatisticsDto.builder().enabled(false).build();
+        }
+        int limit = top != null && top > 0 ? top : DEFAULT_TOP;
+        List<HibernateStatisticsDto.QueryDto> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> toDto(query, statistics.getQueryStatistics(query)))
+                .toList();
+
+        return HibernateStatisticsDto.builder()
+                .enabled(true)
+                .start(statistics.getStart())
+                .sessions(statistics.getSessionOpenCount())
+                .transactions(statistics.getTransactionCount())
+                .flushes(statistics.getFlushCount())
+                .preparedStatements(statistics.getPrepareStatementCount())
+                .entityLoads(statistics.getEntityLoadCount())
+                .entityFetches(statistics.getEntityFetchCount())
+                .collectionLoads(statistics.getCollectionLoadCount())
+                .collectionFetches(statistics.getCollectionFetchCount())
+                .queryExecutions(statistics.getQueryExecutionCount())
+                .secondLevelCache(cache(statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()))
+                .queryCache(cache(statistics.getQueryCacheHitCount(),
+                        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()))
+                .queryPlanCache(cache(statistics.getQueryPlanCacheHitCount(),
+                        statistics.getQueryPlanCacheMissCount(), 0))
+                .topQueriesByCount(top(queries, HibernateStatisticsDto.QueryDto::getExecutions, limit))
+                .topQueriesByTime(top(queries, HibernateStatisticsDto.QueryDto::getTotalTimeMs, limit))
+                .entities(Arrays.stream(statistics.getEntityNames())
+                        .sorted()
+                        .map(name -> toDto(name, statistics.getEntityStatistics(name)))
+                        .toList())
+                .build();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static List<HibernateStatisticsDto.QueryDto> top(List<HibernateStatisticsDto.QueryDto> queries,
+                                                            ToLongFunction<HibernateStatisticsDto.QueryDto> key,
+                                                            int limit) {
+        return queries.stream()
+                .sorted(Comparator.comparingLong(key).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static HibernateStatisticsDto.QueryDto toDto(String query, QueryStatistics statistics) {
+        return HibernateStatisticsDto.QueryDto.builder()
+                .query(query)
+                .executions(statistics.getExecutionCount())
+                .rows(statistics.getExecutionRowCount())
+                .totalTimeMs(statistics.getExecutionTotalTime())
+                .avgTimeMs(statistics.getExecutionAvgTime())
+                .maxTimeMs(statistics.getExecutionMaxTime())
+                .cache(cache(statistics.getCacheHitCount(), statistics.getCacheMissCount(),
+                        statistics.getCachePutCount()))
+                .build();
+    }
+
+    private static HibernateStatisticsDto.EntityDto toDto(String name, EntityStatistics statistics) {
+        return HibernateStatisticsDto.EntityDto.builder()
+                .entity(name.substring(name.lastIndexOf('.') + 1))
+                .loads(statistics.getLoadCount())
+                .fetches(statistics.getFetchCount())
+                .inserts(statistics.getInsertCount())
+                .updates(statistics.getUpdateCount())
+                .deletes(statistics.getDeleteCount())
+                // Сущность без региона второго уровня кеша счётчиков попаданий не имеет
+                .cache(statistics.getCacheRegionName() == null ? null
+                        : cache(statistics.getCacheHitCount(), statistics.getCacheMissCount(),
+                        statistics.getCachePutCount()))
+                .build();
+    }
+
+    private static HibernateStatisticsDto.CacheDto cache(long hits, long misses, long puts) {
+        long requests = hits + misses;
+        return HibernateStatisticsDto.CacheDto.builder()
+                .hits(hits)
+                .misses(misses)
+                .puts(puts)
+                .hitRatio(requests > 0 ? (double) hits / requests : null)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+// Общие части JDBC-обёрток StatementCountingDataSource и StatementTracingDataSource
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    // equals/hashCode сравнивают сами прокси, остальные методы Object уходят к цели
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> invoke(target, method, args);
+                        };
+                    }
+                    return handler.invoke(proxy, method, args);
+                }));
+    }
+
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Таймеры shareit.service (методы *ServiceImpl) и shareit.repository (методы Spring Data репозиториев).
+// Вызов репозитория помечается методом сервиса, из которого он сделан, и состоянием бронирований этого
+// вызова - так в Prometheus видно, какой запрос к БД занимает большую часть времени эндпоинта.
+// Аспект снаружи транзакции: время сервиса включает flush и commit.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodTimingAspect {
+    static final String SERVICE_TIMER = "shareit.service";
+    static final String REPOSITORY_TIMER = "shareit.repository";
+    private static final String NONE = "none";
+
+    private final Meter.MeterProvider<Timer> serviceTimers;
+    private final Meter.MeterProvider<Timer> repositoryTimers;
+    private final ThreadLocal<Call> currentServiceCall = new ThreadLocal<>();
+    private final Map<Method, Integer> stateParameterIndexes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry registry) {
+        this.serviceTimers = Timer.builder(SERVICE_TIMER).withRegistry(registry);
+        this.repositoryTimers = Timer.builder(REPOSITORY_TIMER).withRegistry(registry);
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String service = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+        Call call = new Call(service + "." + signature.getName(), state(signature.getMethod(), joinPoint.getArgs()));
+
+        Call outer = currentServiceCall.get();
+        currentServiceCall.set(call);
+        try {
+            return time(joinPoint, serviceTimers, Tags.of(
+                    "service", service,
+                    "method", signature.getName(),
+                    "state", call.state()));
+        } finally {
+            if (outer == null) {
+                currentServiceCall.remove();
+            } else {
+                currentServiceCall.set(outer);
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Call caller = currentServiceCall.get();
+        return time(joinPoint, repositoryTimers, Tags.of(
+                "repository", repositoryName(joinPoint.getThis().getClass()),
+                "method", joinPoint.getSignature().getName(),
+                "caller", caller != null ? caller.method() : NONE,
+                "state", caller != null ? caller.state() : NONE));
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, Meter.MeterProvider<Timer> timers,
+                               Tags tags) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "ok";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            timers.withTags(tags.and("outcome", outcome))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "not-found";
+        }
+        if (e instanceof ValidationException || e instanceof IllegalArgumentException
+                || e instanceof ConstraintViolationException) {
+            return "validation";
+        }
+        if (e instanceof ConflictException) {
+            return "conflict";
+        }
+        if (e instanceof SecurityException) {
+            return "forbidden";
+        }
+        return "error";
+    }
+
+    // Тег state только у методов с параметром state; неизвестные значения сводятся к UNKNOWN,
+    // чтобы произвольные строки из запроса не плодили временные ряды
+    private String state(Method method, Object[] args) {
+        int index = stateParameterIndexes.computeIfAbsent(method, MethodTimingAspect::stateParameterIndex);
+        if (index < 0) {
+            return NONE;
+        }
+        return args[index] instanceof String value
+                ? BookingState.from(value).map(Enum::name).orElse("UNKNOWN")
+                : NONE;
+    }
+
+    private static int stateParameterIndex(Method method) {
+        var parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getName().equals("state")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Репозиторий вызывается через прокси; имя берём у собственного интерфейса приложения
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getName().startsWith("ru.practicum.shareit.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private record Call(String method, String state) {
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.metrics.method-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingConfig {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry registry) {
+        return new MethodTimingAspect(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Запоминает потоки, которые сейчас ждут соединение из пула.
+// Стек берётся только при запросе снимка, поэтому на горячем пути остаются лишь put/remove в map.
+public class PoolWaitTrackingDataSource extends DelegatingDataSource {
+    private final Map<Thread, Long> waiters = new ConcurrentHashMap<>();
+
+    public PoolWaitTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Thread thread = Thread.currentThread();
+        waiters.put(thread, System.nanoTime());
+        try {
+            return super.getConnection();
+        } finally {
+            waiters.remove(thread);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Thread thread = Thread.currentThread();
+        waiters.put(thread, System.nanoTime());
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            waiters.remove(thread);
+        }
+    }
+
+    public Map<Thread, Long> getWaiters() {
+        return Map.copyOf(waiters);
+    }
+}
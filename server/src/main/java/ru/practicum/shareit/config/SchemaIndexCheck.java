@@ -0,0 +1,95 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Проверяет при старте, что индексы из db/migration на месте.
+// CREATE INDEX CONCURRENTLY при сбое оставляет индекс в состоянии INVALID, такие тоже считаем отсутствующими.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexCheck {
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_bookings_booker_start",
+            "idx_bookings_item_end",
+            "idx_bookings_item_start",
+            "idx_items_owner",
+            "idx_items_request",
+            "idx_requests_requestor_created",
+            "idx_comments_item",
+            "idx_bookings_archive_booker_start",
+            "idx_bookings_archive_item");
+
+    private static final String POSTGRES_VALID_INDEXES = "SELECT c.relname FROM pg_index x " +
+            "JOIN pg_class c ON c.oid = x.indexrelid WHERE x.indisvalid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        List<String> missing;
+        try {
+            missing = findMissingIndexes();
+        } catch (DataAccessException e) {
+            log.warn("Could not check database indexes: {}", e.getMessage());
+            return;
+        }
+        if (missing.isEmpty()) {
+            log.info("All {} expected database indexes are present", EXPECTED_INDEXES.size());
+            return;
+        }
+        missing.forEach(name -> log.warn("Database index {} is missing or invalid, queries relying on it will scan", name));
+    }
+
+    public List<String> findMissingIndexes() {
+        Set<String> existing = findValidIndexes();
+        return EXPECTED_INDEXES.stream()
+                .filter(name -> !existing.contains(name))
+                .toList();
+    }
+
+    private Set<String> findValidIndexes() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return new HashSet<>(jdbcTemplate.queryForList(POSTGRES_VALID_INDEXES, String.class));
+        }
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> names = new HashSet<>();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%",
+                    new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    String table = tables.getString("TABLE_NAME");
+                    try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                            table, false, false)) {
+                        while (indexes.next()) {
+                            String name = indexes.getString("INDEX_NAME");
+                            if (name != null) {
+                                names.add(name.toLowerCase(Locale.ROOT));
+                            }
+                        }
+                    }
+                }
+            }
+            return names;
+        });
+    }
+}
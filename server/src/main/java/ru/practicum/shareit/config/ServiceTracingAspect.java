@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+
+// Span на каждый публичный метод *ServiceImpl между span контроллера (http.server.requests) и span JDBC.
+// Стоит внутри MethodTimingAspect и снаружи транзакции, так что commit попадает в span сервиса.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceTracingAspect {
+    private final Tracer tracer;
+
+    public ServiceTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+        Span span = tracer.nextSpan()
+                .name(service + "." + joinPoint.getSignature().getName())
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
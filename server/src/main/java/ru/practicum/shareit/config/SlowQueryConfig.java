@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Журнал медленных запросов: обёртка сразу над пулом, чтобы время не включало работу остальных обёрток.
+// Планы (EXPLAIN ANALYZE повторно выполняет запрос) снимаются только при shareit.sql.slow-query.explain=true
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static DataSourceWrapper slowQueryDataSource(
+            @Value("${shareit.sql.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${shareit.sql.slow-query.explain:false}") boolean explain,
+            @Value("${shareit.sql.slow-query.explain-interval:1m}") Duration explainInterval,
+            @Value("${shareit.sql.slow-query.buffer-size:50}") int bufferSize) {
+        return new DataSourceWrapper(DataSourceWrapper.SLOW_QUERY, dataSource -> new SlowQueryDataSource(dataSource,
+                new SlowQueryLog(threshold, explain, explainInterval, bufferSize)));
+    }
+}
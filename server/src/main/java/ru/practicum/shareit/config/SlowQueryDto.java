@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// plan и explainError заполняет поток EXPLAIN уже после того, как запись попала в буфер
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDto {
+    private Instant time;
+    private long durationMs;
+    private String sql;
+    private int parameterCount;
+    private volatile String plan;
+    private volatile String explainError;
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+// /actuator/slowqueries: последние медленные запросы с планами, новые первыми; DELETE очищает буфер.
+// В планах PostgreSQL видны значения условий, поэтому эндпоинт по умолчанию не открыт (см. SHAREIT_ADMIN_ENDPOINTS)
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final DataSource dataSource;
+
+    public SlowQueryEndpoint(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @ReadOperation
+    public List<SlowQueryDto> slowQueries() throws SQLException {
+        if (!dataSource.isWrapperFor(SlowQueryDataSource.class)) {
+            return List.of();
+        }
+        return dataSource.unwrap(SlowQueryDataSource.class).getSlowQueryLog().getEntries();
+    }
+
+    @DeleteOperation
+    public void clear() throws SQLException {
+        if (dataSource.isWrapperFor(SlowQueryDataSource.class)) {
+            dataSource.unwrap(SlowQueryDataSource.class).getSlowQueryLog().clear();
+        }
+    }
+}
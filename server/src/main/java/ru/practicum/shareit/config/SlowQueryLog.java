@@ -0,0 +1,139 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Медленные запросы: строка в лог без значений параметров и план выполнения в кольцевом буфере последних N записей.
+// План снимается в отдельном потоке на отдельном соединении с теми же параметрами: для SELECT на PostgreSQL -
+// EXPLAIN (ANALYZE, BUFFERS), то есть запрос выполняется ещё раз; изменения данных только EXPLAIN без ANALYZE.
+// Одна форма запроса объясняется не чаще explain-interval, при заполненной очереди план не снимается.
+@Slf4j
+public class SlowQueryLog {
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final long explainIntervalNanos;
+    private final int capacity;
+    private final Deque<SlowQueryDto> entries;
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+    private volatile DataSource explainDataSource;
+
+    public SlowQueryLog(Duration threshold, boolean explain, Duration explainInterval, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.explain = explain;
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(capacity);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // Источник соединений для EXPLAIN - пул под обёрткой, чтобы сам EXPLAIN не попадал в журнал
+    void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    void record(String sql, List<Object> parameters, long nanos) {
+        String shape = SqlStatementStats.shape(sql);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(nanos);
+        log.warn("Slow query {} ms ({} parameters): {}", durationMs, parameters.size(), shape);
+
+        SlowQueryDto entry = SlowQueryDto.builder()
+                .time(Instant.now())
+                .durationMs(durationMs)
+                .sql(shape)
+                .parameterCount(parameters.size())
+                .build();
+        add(entry);
+
+        if (explain && explainDataSource != null && claimExplain(shape)) {
+            explainExecutor.execute(() -> explain(entry, sql, parameters));
+        }
+    }
+
+    public List<SlowQueryDto> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        lastExplained.clear();
+    }
+
+    private void add(SlowQueryDto entry) {
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeLast();
+            }
+            entries.addFirst(entry);
+        }
+    }
+
+    private boolean claimExplain(String shape) {
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(shape);
+        if (previous != null && now - previous < explainIntervalNanos) {
+            return false;
+        }
+        return previous == null
+                ? lastExplained.putIfAbsent(shape, now) == null
+                : lastExplained.replace(shape, previous, now);
+    }
+
+    private void explain(SlowQueryDto entry, String sql, List<Object> parameters) {
+        try (Connection connection = explainDataSource.getConnection()) {
+            boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT)
+                    .contains("postgres");
+            boolean select = sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+            String prefix = !select ? "EXPLAIN " : postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ANALYZE ";
+            connection.setReadOnly(select);
+            try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+                statement.setQueryTimeout(30);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                entry.setPlan(plan.toString().stripTrailing());
+            } finally {
+                connection.setReadOnly(false);
+            }
+        } catch (SQLException | RuntimeException e) {
+            entry.setExplainError(e.getMessage());
+            log.debug("Could not explain slow query: {}", entry.getSql(), e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Счётчики JDBC в пределах области: запросы, строки (прочитанные и изменённые) и время внутри драйвера.
+// Область привязана к потоку и открывается через start() в try-with-resources; вложенные области
+// передают счёт наружу, поэтому тест вокруг HTTP-вызова видит и то, что насчитал фильтр.
+// Считает StatementCountingDataSource, вне области запросы не учитываются.
+public final class SqlStatementStats implements AutoCloseable {
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Nullable
+    private final SqlStatementStats outer;
+    private final Map<String, Integer> statementsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlStatementStats(@Nullable SqlStatementStats outer) {
+        this.outer = outer;
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    @Nullable
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    void recordStatement(String sql, long nanos) {
+        for (SqlStatementStats stats = this; stats != null; stats = stats.outer) {
+            stats.statements++;
+            stats.jdbcNanos += nanos;
+            stats.statementsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRows(long count) {
+        for (SqlStatementStats stats = this; stats != null; stats = stats.outer) {
+            stats.rows += count;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    // Запросы, сгруппированные по форме (литералы и списки IN свёрнуты), от частых к редким
+    public Map<String, Integer> getStatementsByShape() {
+        Map<String, Integer> byShape = new HashMap<>();
+        statementsBySql.forEach((sql, count) -> byShape.merge(shape(sql), count, Integer::sum));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        byShape.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    // Формы, повторённые больше threshold раз - типичный след N+1
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        getStatementsByShape().forEach((shape, count) -> {
+            if (count > threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
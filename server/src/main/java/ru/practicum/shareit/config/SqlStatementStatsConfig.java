@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Режим разработки: счётчики SQL на HTTP-запрос. Считающая обёртка - самая внешняя, ближе всех к Hibernate
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.stats.enabled", havingValue = "true")
+public class SqlStatementStatsConfig {
+
+    @Bean
+    public static DataSourceWrapper statementCountingDataSource() {
+        return new DataSourceWrapper(DataSourceWrapper.COUNTING, StatementCountingDataSource::new);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementStatsFilter> sqlStatementStatsFilter(
+            MeterRegistry registry,
+            @Value("${shareit.sql.stats.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<SqlStatementStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementStatsFilter(registry, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Открывает SqlStatementStats на время HTTP-запроса, после ответа пишет метрики shareit.sql.* по шаблону URI
+// и предупреждает, если одна форма запроса повторилась больше repeat-threshold раз (вероятный N+1).
+// Заголовки X-Sql-* ставит SqlStatementStatsAdvice: к моменту возврата из цепочки ответ уже отправлен.
+@Slf4j
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS = "shareit.sql.statements";
+    static final String ROWS = "shareit.sql.rows";
+    static final String TIME = "shareit.sql.time";
+
+    private final Meter.MeterProvider<DistributionSummary> statements;
+    private final Meter.MeterProvider<DistributionSummary> rows;
+    private final Meter.MeterProvider<Timer> time;
+    private final int repeatThreshold;
+
+    public SqlStatementStatsFilter(MeterRegistry registry, int repeatThreshold) {
+        this.statements = DistributionSummary.builder(STATEMENTS).withRegistry(registry);
+        this.rows = DistributionSummary.builder(ROWS).withRegistry(registry);
+        this.time = Timer.builder(TIME).withRegistry(registry);
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        statements.withTags(tags).record(stats.getStatements());
+        rows.withTags(tags).record(stats.getRows());
+        time.withTags(tags).record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.getRepeatedShapes(repeatThreshold);
+        repeated.forEach((shape, count) -> log.warn("Possible N+1 in {} {}: statement repeated {} times: {}",
+                request.getMethod(), uri, count, shape));
+    }
+}
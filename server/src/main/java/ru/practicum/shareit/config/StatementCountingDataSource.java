@@ -0,0 +1,96 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static ru.practicum.shareit.config.JdbcProxies.invoke;
+import static ru.practicum.shareit.config.JdbcProxies.proxy;
+
+// Оборачивает соединения в прокси, которые пишут в текущую SqlStatementStats каждый execute*,
+// его время и число строк: прочитанных через ResultSet.next() и изменённых по update count.
+// Без открытой области прокси только передают вызовы дальше.
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    // preparedSql задан для PreparedStatement; у обычного Statement текст приходит аргументом execute*
+    private static <T extends Statement> T wrap(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            SqlStatementStats stats = SqlStatementStats.current();
+            String name = method.getName();
+            if (stats == null || !name.startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                        ? wrap(resultSet)
+                        : result;
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : "batch";
+            long started = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            stats.recordStatement(sql, System.nanoTime() - started);
+            if (result instanceof ResultSet resultSet) {
+                return wrap(resultSet);
+            }
+            if (result instanceof Integer count && count > 0) {
+                stats.recordRows(count);
+            } else if (result instanceof Long count && count > 0) {
+                stats.recordRows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    stats.recordRows(Math.max(count, 0));
+                }
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrap(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                SqlStatementStats stats = SqlStatementStats.current();
+                if (stats != null) {
+                    stats.recordRows(1);
+                }
+            }
+            return result;
+        });
+    }
+}
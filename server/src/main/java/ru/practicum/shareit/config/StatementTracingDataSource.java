@@ -0,0 +1,101 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+import static ru.practicum.shareit.config.JdbcProxies.invoke;
+import static ru.practicum.shareit.config.JdbcProxies.proxy;
+
+// Span на каждый execute* с формой запроса в db.statement: литералы свёрнуты в ?, значения в трассу не попадают.
+// Span создаётся только внутри начатой и попавшей в выборку трассы, поэтому Flyway и фоновые запросы
+// без родителя не пишутся, а при малой доле сэмплирования почти все запросы идут без накладных расходов.
+// Tracer берётся лениво: DataSource оборачивается в BeanPostProcessor раньше, чем готовы бины трассировки.
+public class StatementTracingDataSource extends DelegatingDataSource {
+    private final ObjectProvider<Tracer> tracerProvider;
+    private volatile Tracer tracer;
+
+    public StatementTracingDataSource(DataSource targetDataSource, ObjectProvider<Tracer> tracerProvider) {
+        super(targetDataSource);
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Tracer tracer() {
+        Tracer current = tracer;
+        if (current == null) {
+            current = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+            tracer = current;
+        }
+        return current;
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrap(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            // Вне трассы и в трассе, не попавшей в выборку, запрос не разбирается
+            Tracer tracer = tracer();
+            Span parent = tracer.currentSpan();
+            if (parent == null || parent.isNoop()) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : "batch";
+            String shape = SqlStatementStats.shape(sql);
+            Span span = tracer.nextSpan()
+                    .name("jdbc " + operation(shape))
+                    .tag("db.statement", shape)
+                    .start();
+            try {
+                return invoke(statement, method, args);
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        });
+    }
+
+    static String operation(String shape) {
+        int end = shape.indexOf(' ');
+        return (end > 0 ? shape.substring(0, end) : shape).toLowerCase(Locale.ROOT);
+    }
+}
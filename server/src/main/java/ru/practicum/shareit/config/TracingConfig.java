@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Span сервисов и каждого JDBC-запроса (StatementTracingDataSource).
+// Контекст трассы приходит от гейтвея в заголовке traceparent, span контроллера создаёт Spring MVC
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.spans.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public ServiceTracingAspect serviceTracingAspect(ObjectProvider<Tracer> tracer) {
+        return new ServiceTracingAspect(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    @Bean
+    public static DataSourceWrapper statementTracingDataSource(ObjectProvider<Tracer> tracer) {
+        return new DataSourceWrapper(DataSourceWrapper.TRACING,
+                dataSource -> new StatementTracingDataSource(dataSource, tracer));
+    }
+}
@@ -1,12 +1,29 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String COMMENT_DTO_SELECT = "SELECT new ru.practicum.shareit.item.dto.CommentDto(" +
+            "c.id, c.text, a.name, c.created, c.item.id) " +
+            "FROM Comment c JOIN c.author a ";
+
     List<Comment> findByItemId(Long itemId);
 
     List<Comment> findByItemIdIn(List<Long> itemIds);
+
+    @Query(COMMENT_DTO_SELECT +
+            "WHERE c.item.id = :itemId " +
+            "ORDER BY c.id ASC")
+    List<CommentDto> findDtosByItemId(@Param("itemId") Long itemId);
+
+    @Query(COMMENT_DTO_SELECT +
+            "WHERE c.item.id IN :itemIds " +
+            "ORDER BY c.id ASC")
+    List<CommentDto> findDtosByItemIdIn(@Param("itemIds") List<Long> itemIds);
 }
@@ -2,7 +2,9 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.*;
 
 import jakarta.validation.Valid;
@@ -31,10 +33,16 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemResponseDto getItem(
+    public ResponseEntity<ItemResponseDto> getItem(
             @PathVariable Long itemId,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.getItemById(itemId, userId);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            WebRequest webRequest) {
+        // ETag считается до тела: при гонке с записью клиент получит более старый ETag и просто перезапросит
+        String etag = itemService.getItemETag(itemId, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(itemService.getItemById(itemId, userId));
     }
 
     @GetMapping
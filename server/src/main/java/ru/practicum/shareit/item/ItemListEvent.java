@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Событие JFR на список вещей владельца: сколько вещей, бронирований и комментариев собрано в ответ
+@Name("ru.practicum.shareit.ItemList")
+@Label("Owner Item List")
+@Category({"ShareIt", "Item"})
+@Description("ItemServiceImpl.getAllItems")
+@StackTrace(false)
+class ItemListEvent extends Event {
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Booking Count")
+    @Description("Последние и следующие бронирования, прочитанные для вещей")
+    int bookingCount;
+
+    @Label("Comment Count")
+    int commentCount;
+}
@@ -2,12 +2,22 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemVersionDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    // Проекции для чтения: DTO собираются прямо из выборки, сущности в контекст не попадают
+    String ITEM_RESPONSE_SELECT = "SELECT new ru.practicum.shareit.item.dto.ItemResponseDto(" +
+            "i.id, i.name, i.description, i.available, i.owner.id, r.id) " +
+            "FROM Item i LEFT JOIN i.request r ";
+
     List<Item> findByOwnerId(Long ownerId, Pageable pageable);
 
     @Query("SELECT i FROM Item i " +
@@ -17,4 +27,22 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> searchAvailableItems(String text, Pageable pageable);
 
     List<Item> findByRequestId(Long requestId);
+
+    @Query(ITEM_RESPONSE_SELECT +
+            "WHERE i.id = :itemId")
+    Optional<ItemResponseDto> findResponseDtoById(@Param("itemId") Long itemId);
+
+    @Query(ITEM_RESPONSE_SELECT +
+            "WHERE i.owner.id = :ownerId " +
+            "ORDER BY i.id ASC")
+    List<ItemResponseDto> findResponseDtosByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemVersionDto(i.version, i.owner.id) " +
+            "FROM Item i WHERE i.id = :itemId")
+    Optional<ItemVersionDto> findVersionById(@Param("itemId") Long itemId);
+
+    // Комментарии входят в ответ GET /items/{id}, поэтому новый комментарий тоже меняет версию вещи
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id = :itemId")
+    int incrementVersion(@Param("itemId") Long itemId);
 }
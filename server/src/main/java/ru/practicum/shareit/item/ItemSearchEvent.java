@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Событие JFR на поиск вещей: сам текст запроса не пишется, только его длина
+@Name("ru.practicum.shareit.ItemSearch")
+@Label("Item Search")
+@Category({"ShareIt", "Item"})
+@Description("ItemServiceImpl.searchItems")
+@StackTrace(false)
+class ItemSearchEvent extends Event {
+    @Label("Query Length")
+    int queryLength;
+
+    @Label("Result Count")
+    int resultCount;
+}
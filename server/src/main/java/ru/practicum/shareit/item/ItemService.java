@@ -11,6 +11,8 @@ public interface ItemService {
 
     ItemResponseDto getItemById(Long itemId, Long userId);
 
+    String getItemETag(Long itemId, Long userId);
+
     List<ItemResponseDto> getAllItems(Long userId);
 
     List<ItemResponseDto> searchItems(String text, Long userId);
@@ -7,10 +7,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -26,6 +26,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,9 +34,12 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final Pageable FIRST_RESULT = PageRequest.of(0, 1);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
 
@@ -52,6 +56,9 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        if (savedItem.getRequest() != null) {
+            itemRequestRepository.incrementVersion(savedItem.getRequest().getId());
+        }
         log.info("Created item with id: {}", savedItem.getId());
         return ItemMapper.toItemResponseDto(savedItem, null, null);
     }
@@ -68,6 +75,9 @@ public class ItemServiceImpl implements ItemService {
 
         ItemMapper.updateEntity(item, itemUpdateDto);
         Item updatedItem = itemRepository.save(item);
+        if (updatedItem.getRequest() != null) {
+            itemRequestRepository.incrementVersion(updatedItem.getRequest().getId());
+        }
 
         BookingInfoDto lastBooking = getLastBooking(itemId);
         BookingInfoDto nextBooking = getNextBooking(itemId);
@@ -82,68 +92,90 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemResponseDto getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
+        ItemResponseDto responseDto = itemRepository.findResponseDtoById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId));
 
-        BookingInfoDto lastBooking = null;
-        BookingInfoDto nextBooking = null;
-        List<CommentDto> comments = getCommentsForItem(itemId);
+        responseDto.setComments(getCommentsForItem(itemId));
 
-        if (item.getOwner().getId().equals(userId)) {
-            lastBooking = getLastBooking(itemId);
-            nextBooking = getNextBooking(itemId);
+        if (userId.equals(responseDto.getOwnerId())) {
+            responseDto.setLastBooking(getLastBooking(itemId));
+            responseDto.setNextBooking(getNextBooking(itemId));
         }
 
-        ItemResponseDto responseDto = ItemMapper.toItemResponseDto(item, lastBooking, nextBooking);
-        responseDto.setComments(comments);
+        return responseDto;
+    }
 
-        if (item.getOwner() != null) {
-            responseDto.setOwnerId(item.getOwner().getId());
-        }
+    // Владелец видит ещё последнее и следующее бронирование, они меняются со временем без записи в items
+    @Override
+    public String getItemETag(Long itemId, Long userId) {
+        ItemVersionDto version = itemRepository.findVersionById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId));
 
-        return responseDto;
+        if (!userId.equals(version.getOwnerId())) {
+            return "\"" + version.getVersion() + "\"";
+        }
+        BookingInfoDto lastBooking = getLastBooking(itemId);
+        BookingInfoDto nextBooking = getNextBooking(itemId);
+        return "\"" + version.getVersion() +
+                "-" + (lastBooking != null ? lastBooking.getId() : 0) +
+                "-" + (nextBooking != null ? nextBooking.getId() : 0) + "\"";
     }
 
     @Override
     public List<ItemResponseDto> getAllItems(Long userId) {
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "id"));
-        List<Item> items = itemRepository.findByOwnerId(userId, pageable);
+        ItemListEvent event = new ItemListEvent();
+        event.begin();
+        List<ItemResponseDto> items = itemRepository.findResponseDtosByOwnerId(userId);
+        if (items.isEmpty()) {
+            event.commit();
+            return items;
+        }
 
-        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        List<Long> itemIds = items.stream().map(ItemResponseDto::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
 
-        Map<Long, BookingInfoDto> lastBookings = bookingRepository.findByItemIdInAndEndBeforeAndStatusOrderByEndDesc(
-                        itemIds, LocalDateTime.now(), BookingStatus.APPROVED).stream()
+        Map<Long, BookingInfoDto> lastBookings = bookingRepository.findInfosByItemIdInAndEndBeforeAndStatus(
+                        itemIds, now, BookingStatus.APPROVED).stream()
                 .collect(Collectors.toMap(
-                        booking -> booking.getItem().getId(),
-                        BookingMapper::toBookingInfoDto,
+                        BookingInfoDto::getItemId,
+                        Function.identity(),
                         (first, second) -> first // keep first if duplicate
                 ));
 
-        Map<Long, BookingInfoDto> nextBookings = bookingRepository.findByItemIdInAndStartAfterAndStatusOrderByStartAsc(
-                        itemIds, LocalDateTime.now(), BookingStatus.APPROVED).stream()
+        // Вещи, все прошедшие бронирования которых ушли в архив, берут последнее оттуда
+        List<Long> withoutLastBooking = itemIds.stream()
+                .filter(id -> !lastBookings.containsKey(id))
+                .collect(Collectors.toList());
+        if (!withoutLastBooking.isEmpty()) {
+            archivedBookingRepository.findInfosByItemIdInAndStatus(withoutLastBooking, BookingStatus.APPROVED)
+                    .forEach(booking -> lastBookings.putIfAbsent(booking.getItemId(), booking));
+        }
+
+        Map<Long, BookingInfoDto> nextBookings = bookingRepository.findInfosByItemIdInAndStartAfterAndStatus(
+                        itemIds, now, BookingStatus.APPROVED).stream()
                 .collect(Collectors.toMap(
-                        booking -> booking.getItem().getId(),
-                        BookingMapper::toBookingInfoDto,
+                        BookingInfoDto::getItemId,
+                        Function.identity(),
                         (first, second) -> first // keep first if duplicate
                 ));
 
-        Map<Long, List<CommentDto>> commentsByItem = commentRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(
-                        comment -> comment.getItem().getId(),
-                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())
-                ));
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository.findDtosByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
 
-        return items.stream()
-                .map(item -> {
-                    ItemResponseDto dto = ItemMapper.toItemResponseDto(
-                            item,
-                            lastBookings.get(item.getId()),
-                            nextBookings.get(item.getId())
-                    );
-                    dto.setComments(commentsByItem.getOrDefault(item.getId(), Collections.emptyList()));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        for (ItemResponseDto dto : items) {
+            dto.setLastBooking(lastBookings.get(dto.getId()));
+            dto.setNextBooking(nextBookings.get(dto.getId()));
+            dto.setComments(commentsByItem.getOrDefault(dto.getId(), Collections.emptyList()));
+        }
+
+        // Поля считаются только при идущей записи с включённым событием: без неё остаётся одна проверка
+        if (event.shouldCommit()) {
+            event.itemCount = items.size();
+            event.bookingCount = lastBookings.size() + nextBookings.size();
+            event.commentCount = commentsByItem.values().stream().mapToInt(List::size).sum();
+            event.commit();
+        }
+        return items;
     }
 
     @Override
@@ -152,13 +184,21 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.begin();
         getUserById(userId);
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
         List<Item> items = itemRepository.searchAvailableItems(text, pageable);
 
-        return items.stream()
+        List<ItemResponseDto> result = items.stream()
                 .map(item -> ItemMapper.toItemResponseDto(item, null, null))
                 .collect(Collectors.toList());
+        if (event.shouldCommit()) {
+            event.queryLength = text.length();
+            event.resultCount = result.size();
+            event.commit();
+        }
+        return result;
     }
 
     @Override
@@ -172,12 +212,13 @@ public class ItemServiceImpl implements ItemService {
         List<ru.practicum.shareit.booking.Booking> bookings = bookingRepository
                 .findByItemIdAndBookerIdAndEndBefore(itemId, userId, LocalDateTime.now());
 
-        if (bookings.isEmpty()) {
+        if (bookings.isEmpty() && !archivedBookingRepository.existsByItemIdAndBookerId(itemId, userId)) {
             throw new ValidationException("User " + userId + " has not booked item " + itemId + " in the past");
         }
 
         Comment comment = CommentMapper.toComment(commentRequestDto.getText(), item, author);
         Comment savedComment = commentRepository.save(comment);
+        itemRepository.incrementVersion(itemId);
 
         return CommentMapper.toCommentDto(savedComment);
     }
@@ -189,21 +230,27 @@ public class ItemServiceImpl implements ItemService {
 
     private BookingInfoDto getLastBooking(Long itemId) {
         return bookingRepository
-                .findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(itemId, LocalDateTime.now(), BookingStatus.APPROVED)
-                .map(BookingMapper::toBookingInfoDto)
+                .findInfosByItemIdAndEndBeforeAndStatus(
+                        itemId, LocalDateTime.now(), BookingStatus.APPROVED, FIRST_RESULT)
+                .stream()
+                .findFirst()
+                .or(() -> archivedBookingRepository
+                        .findInfosByItemIdAndStatus(itemId, BookingStatus.APPROVED, FIRST_RESULT)
+                        .stream()
+                        .findFirst())
                 .orElse(null);
     }
 
     private BookingInfoDto getNextBooking(Long itemId) {
         return bookingRepository
-                .findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId, LocalDateTime.now(), BookingStatus.APPROVED)
-                .map(BookingMapper::toBookingInfoDto)
+                .findInfosByItemIdAndStartAfterAndStatus(
+                        itemId, LocalDateTime.now(), BookingStatus.APPROVED, FIRST_RESULT)
+                .stream()
+                .findFirst()
                 .orElse(null);
     }
 
     private List<CommentDto> getCommentsForItem(Long itemId) {
-        return commentRepository.findByItemId(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        return commentRepository.findDtosByItemId(itemId);
     }
 }
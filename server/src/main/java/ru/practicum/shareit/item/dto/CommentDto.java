@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,12 +8,17 @@ import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CommentDto {
+    // Формат поля created в ответах, общий для проекций и CommentMapper
+    public static final DateTimeFormatter CREATED_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     private Long id;
 
     @NotBlank(message = "Comment text cannot be blank")
@@ -21,4 +27,16 @@ public class CommentDto {
 
     private String authorName;
     private String created;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    private Long itemId;
+
+    // Используется в JPQL-проекциях CommentRepository
+    public CommentDto(Long id, String text, String authorName, LocalDateTime created, Long itemId) {
+        this.id = id;
+        this.text = text;
+        this.authorName = authorName;
+        this.created = created != null ? created.format(CREATED_FORMATTER) : null;
+        this.itemId = itemId;
+    }
+}
@@ -22,4 +22,15 @@ public class ItemResponseDto {
     private BookingInfoDto nextBooking;
     private List<CommentDto> comments;
     private Long requestId;
+
+    // Используется в JPQL-проекциях ItemRepository, бронирования и комментарии заполняет сервис
+    public ItemResponseDto(Long id, String name, String description, Boolean available,
+                           Long ownerId, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.ownerId = ownerId;
+        this.requestId = requestId;
+    }
 }
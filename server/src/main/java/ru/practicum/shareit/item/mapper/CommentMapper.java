@@ -8,7 +8,7 @@ import ru.practicum.shareit.user.model.User;
 import java.time.format.DateTimeFormatter;
 
 public class CommentMapper {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter FORMATTER = CommentDto.CREATED_FORMATTER;
 
     public static CommentDto toCommentDto(Comment comment) {
         if (comment == null) {
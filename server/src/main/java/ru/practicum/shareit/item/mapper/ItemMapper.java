@@ -76,8 +76,9 @@ public class ItemMapper {
             return null;
         }
 
+        // id из тела запроса не переносится: его назначает БД, а сущность с id и без version Spring Data
+        // считает существующей и вместо persist делает merge
         return Item.builder()
-                .id(itemDto.getId())
                 .name(itemDto.getName())
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
@@ -36,4 +36,9 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+
+    // Растёт при каждом изменении; из неё строится ETag ответа GET по id
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -29,4 +29,9 @@ public class ItemRequest {
 
     @Column(name = "created")
     private LocalDateTime created;
+
+    // Растёт при каждом изменении; из неё строится ETag ответа GET по id
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -41,8 +42,13 @@ public class ItemRequestController {
     @GetMapping("/{requestId}")
     public ResponseEntity<ItemRequestDto> getRequestById(
             @PathVariable Long requestId,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            WebRequest webRequest) {
+        String etag = itemRequestService.getRequestETag(requestId, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ItemRequestDto request = itemRequestService.getRequestById(requestId, userId);
-        return ResponseEntity.ok(request);
+        return ResponseEntity.ok().eTag(etag).body(request);
     }
 }
@@ -2,9 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long requestorId);
@@ -13,4 +16,12 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
             "WHERE r.requestor.id != :userId " +
             "ORDER BY r.created DESC")
     List<ItemRequest> findAllByRequestorIdNot(Long userId, Pageable pageable);
+
+    @Query("SELECT r.version FROM ItemRequest r WHERE r.id = :requestId")
+    Optional<Long> findVersionById(@Param("requestId") Long requestId);
+
+    // Вещи-ответы входят в ответ GET /requests/{id}, их создание и изменение меняет версию запроса
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.version = r.version + 1 WHERE r.id = :requestId")
+    int incrementVersion(@Param("requestId") Long requestId);
 }
@@ -12,4 +12,6 @@ public interface ItemRequestService {
     List<ItemRequestDto> getAllRequests(Long userId, int from, int size);
 
     ItemRequestDto getRequestById(Long requestId, Long userId);
+
+    String getRequestETag(Long requestId, Long userId);
 }
@@ -98,4 +98,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         return dto;
     }
+
+    @Override
+    public String getRequestETag(Long requestId, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
+        return itemRequestRepository.findVersionById(requestId)
+                .map(version -> "\"" + version + "\"")
+                .orElseThrow(() -> new NotFoundException("Item request not found with id: " + requestId));
+    }
 }
@@ -16,8 +16,8 @@ public class ItemRequestMapper {
     }
 
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto, User requestor) {
+        // id назначает БД, клиентский id не переносится (см. ItemMapper.toEntity)
         return ItemRequest.builder()
-                .id(itemRequestDto.getId())
                 .description(itemRequestDto.getDescription())
                 .requestor(requestor)
                 .created(itemRequestDto.getCreated())
@@ -11,6 +11,8 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
+    String getUserETag(Long userId);
+
     void deleteUser(Long userId);
 
     List<UserDto> getAllUsers();
@@ -59,6 +59,13 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toDto(user);
     }
 
+    @Override
+    public String getUserETag(Long userId) {
+        return userRepository.findVersionById(userId)
+                .map(version -> "\"" + version + "\"")
+                .orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
+    }
+
     @Override
     @Transactional
     public void deleteUser(Long userId) {
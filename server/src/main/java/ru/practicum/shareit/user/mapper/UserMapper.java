@@ -21,8 +21,8 @@ public class UserMapper {
             return null;
         }
 
+        // id назначает БД, клиентский id не переносится (см. ItemMapper.toEntity)
         User user = new User();
-        user.setId(userDto.getId());
         user.setName(userDto.getName());
         user.setEmail(userDto.getEmail());
         return user;
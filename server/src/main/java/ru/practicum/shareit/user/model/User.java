@@ -28,4 +28,9 @@ public class User {
     @Email
     @NotBlank
     private String email;
+
+    // Растёт при каждом изменении; из неё строится ETag ответа GET по id
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,11 @@
+-- Завершённые бронирования старше окна хранения переносятся сюда BookingArchiver'ом
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    CONSTRAINT fk_item_booking_archive FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booker_archive FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
+);
@@ -0,0 +1,50 @@
+-- В Postgres bookings секционируется по end_date помесячно.
+-- Месячные секции создаёт BookingPartitionMaintainer, сюда попадает всё, что в них не вошло.
+-- В базе, созданной старым schema.sql (принята baseline-on-migrate на версии 1), bookings - обычная таблица
+-- с identity-столбцом: она переименовывается, identity снимается (вместе с ним удаляется последовательность
+-- bookings_id_seq), строки переносятся в новую секционированную таблицу, последовательность продолжает max(id).
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE oid = to_regclass('bookings') AND relkind = 'r') THEN
+        ALTER TABLE bookings RENAME TO bookings_legacy;
+        ALTER TABLE bookings_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    END IF;
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT NOT NULL DEFAULT nextval('bookings_id_seq'),
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id, end_date),
+    CONSTRAINT fk_item_booking FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booker FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (end_date);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT;
+
+-- Перенос старых строк: пока месячных секций нет, всё ложится в bookings_default,
+-- BookingPartitionMaintainer при создании секции месяца перенесёт её строки из default
+DO $$
+BEGIN
+    IF to_regclass('bookings_legacy') IS NOT NULL THEN
+        INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+        SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings_legacy;
+        PERFORM setval('bookings_id_seq', COALESCE((SELECT max(id) FROM bookings), 0) + 1, false);
+        DROP TABLE bookings_legacy;
+    END IF;
+END $$;
+
+-- На новой базе таблица пуста и индексы на секционированном родителе строятся мгновенно; при переводе
+-- старой базы они строятся по перенесённым строкам в этой же транзакции. Секции, создаваемые позже,
+-- наследуют индексы автоматически
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
@@ -0,0 +1,9 @@
+-- CONCURRENTLY не блокирует запись в таблицы, но не может выполняться в транзакции,
+-- поэтому миграция запускается без неё (см. V4__create_performance_indexes.sql.conf).
+-- Если построение прервётся, индекс останется INVALID: его покажет SchemaIndexCheck.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_archive_item ON bookings_archive (item_id);
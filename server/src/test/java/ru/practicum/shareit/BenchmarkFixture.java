@@ -0,0 +1,189 @@
+package ru.practicum.shareit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Общий набор данных и замер для бенчмарков и perf-gate (подключается через @Import).
+// Набор не зависит от случайности: вещь i принадлежит users[i % owners], бронирует и комментирует её
+// следующий пользователь; у каждой вещи прошлые и будущие подтверждённые бронирования вокруг текущего момента
+@TestComponent
+public class BenchmarkFixture {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private List<User> users;
+    private List<Item> items;
+
+    public void seed(Shape shape) {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        users = new ArrayList<>();
+        for (int i = 0; i < shape.getUsers(); i++) {
+            users.add(userRepository.save(User.builder().name("User " + i).email("user" + i + "@bench.io").build()));
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < shape.getUsers() * shape.getRequestsPerUser(); i++) {
+            requests.add(itemRequestRepository.save(ItemRequest.builder()
+                    .description("Need tool " + i)
+                    .requestor(users.get(i % shape.getUsers()))
+                    .created(now.minusDays(i))
+                    .build()));
+        }
+
+        items = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < shape.getItems(); i++) {
+            int ownerIndex = i % shape.getOwners();
+            User booker = users.get((ownerIndex + 1) % shape.getUsers());
+            Item item = itemRepository.save(Item.builder()
+                    .name((i % 2 == 0 ? "Drill " : "Saw ") + i)
+                    .description("Description of item " + i)
+                    .available(true)
+                    .owner(users.get(ownerIndex))
+                    .request(!requests.isEmpty() && i % 4 == 0 ? requests.get(i % requests.size()) : null)
+                    .build());
+            items.add(item);
+            for (int j = 0; j < shape.getBookingsPerItem(); j++) {
+                LocalDateTime start = now.plusDays(j * 2L - shape.getBookingsPerItem());
+                bookings.add(Booking.builder()
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(booker)
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+            for (int j = 0; j < shape.getCommentsPerItem(); j++) {
+                comments.add(CommentMapper.toComment("Comment " + j + " on item " + i, item, booker));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public List<Long> getItemIds() {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    // При owners=1 все вещи у владельца, бронирования и отзывы - от второго пользователя
+    public User owner() {
+        return users.get(0);
+    }
+
+    public User booker() {
+        return users.get(1);
+    }
+
+    // Прогрев, затем серия вызовов в текущем потоке: время каждого, а также выделенная память и CPU потока на вызов
+    public static Measurement measure(int warmup, int iterations, Call call) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < warmup; i++) {
+            call.run(i);
+        }
+
+        long[] samples = new long[iterations];
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.run(warmup + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        long bytesPerOp = (threads.getThreadAllocatedBytes(threadId) - bytesBefore) / iterations;
+        long cpuPerOp = (threads.getCurrentThreadCpuTime() - cpuBefore) / iterations;
+        Arrays.sort(samples);
+        return new Measurement(samples, bytesPerOp, cpuPerOp);
+    }
+
+    public static Measurement print(String name, Measurement measurement) {
+        System.out.printf("%-42s mean %,8d us  p50 %,8d us  p95 %,8d us  %,12d B/op  cpu %,8d us/op%n", name,
+                measurement.meanNanos() / 1_000, measurement.percentileNanos(0.5) / 1_000,
+                measurement.percentileNanos(0.95) / 1_000, measurement.allocatedBytesPerOp(),
+                measurement.cpuNanosPerOp() / 1_000);
+        return measurement;
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        void run(int iteration) throws Exception;
+    }
+
+    // samples - время вызовов в наносекундах по возрастанию
+    public record Measurement(long[] samples, long allocatedBytesPerOp, long cpuNanosPerOp) {
+        public long meanNanos() {
+            return Arrays.stream(samples).sum() / samples.length;
+        }
+
+        public long percentileNanos(double percentile) {
+            return samples[(int) Math.ceil(samples.length * percentile) - 1];
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shape {
+        @Builder.Default
+        private int users = 2;
+        @Builder.Default
+        private int owners = 1;
+        private int items;
+        private int bookingsPerItem;
+        private int commentsPerItem;
+        private int requestsPerUser;
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// С какого размера ответа gzip окупается: время сжатия на сервере и распаковки у получателя
+// против времени передачи сэкономленных байт. Тело - страница бронирований владельца в JSON,
+// сжатие тем же GZIPOutputStream с уровнем по умолчанию, что и у Tomcat.
+// Запуск: mvn test -pl server -Pbenchmark -Dtest=CompressionThresholdBenchmarkTest
+@Tag("benchmark")
+public class CompressionThresholdBenchmarkTest {
+    private static final int[] BOOKINGS = {1, 2, 4, 8, 16, 32, 64, 128, 512, 2048};
+    // Сервер-гейтвей в одной сети и гейтвей-мобильный клиент
+    private static final long[] LINKS_MBIT = {1_000, 100, 10};
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void gzipBreakEven() throws IOException {
+        System.out.printf("%9s %9s %6s %9s %9s", "json", "gzip", "ratio", "deflate", "inflate");
+        for (long link : LINKS_MBIT) {
+            System.out.printf(" %12s", "gain@" + link + "Mb");
+        }
+        System.out.println();
+
+        long[] breakEven = new long[LINKS_MBIT.length];
+        for (int bookings : BOOKINGS) {
+            byte[] json = mapper.writeValueAsBytes(page(bookings));
+            byte[] gzip = gzip(json);
+            for (int i = 0; i < ITERATIONS; i++) {
+                gunzip(gzip(json));
+            }
+
+            long started = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                gzip(json);
+            }
+            long deflateNanos = (System.nanoTime() - started) / ITERATIONS;
+            started = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                gunzip(gzip);
+            }
+            long inflateNanos = (System.nanoTime() - started) / ITERATIONS;
+
+            System.out.printf("%,9d %,9d %5.0f%% %,7d us %,7d us", json.length, gzip.length,
+                    100.0 * gzip.length / json.length, deflateNanos / 1_000, inflateNanos / 1_000);
+            for (int i = 0; i < LINKS_MBIT.length; i++) {
+                // Выигрыш в микросекундах: время передачи сэкономленных байт минус CPU на сжатие и распаковку
+                long savedNanos = (json.length - gzip.length) * 8L * 1_000 / LINKS_MBIT[i];
+                long gainNanos = savedNanos - deflateNanos - inflateNanos;
+                System.out.printf(" %,9d us", gainNanos / 1_000);
+                if (gainNanos > 0 && breakEven[i] == 0) {
+                    breakEven[i] = json.length;
+                }
+            }
+            System.out.println();
+            assertTrue(gzip.length > 0);
+        }
+        for (int i = 0; i < LINKS_MBIT.length; i++) {
+            System.out.printf("break-even at %,d Mbit/s: %s%n", LINKS_MBIT[i],
+                    breakEven[i] == 0 ? "never in this range" : String.format("~%,d bytes", breakEven[i]));
+        }
+    }
+
+    private static List<BookingResponseDto> page(int size) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<BookingResponseDto> page = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            page.add(new BookingResponseDto((long) i + 1, start.plusDays(i), start.plusDays(i + 1),
+                    BookingStatus.APPROVED, (long) i % 50 + 1, "Item " + (i % 50),
+                    "A reasonably detailed description of item number " + (i % 50), true,
+                    1L, null, 2L, "Booker", "booker@example.com"));
+        }
+        return page;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
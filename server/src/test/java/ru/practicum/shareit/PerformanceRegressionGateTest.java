@@ -0,0 +1,240 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.search.Search;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Проверка на регрессию производительности: сервер на H2 с фиксированным набором данных, по каждому ключевому
+// эндпоинту прогрев и последовательная серия запросов, p95 задержки и среднее число SQL-запросов на HTTP-запрос
+// (метрика shareit.sql.statements) сравниваются с perf-gate/baseline.json.
+// Падает, если p95 выше базы больше чем на latency-tolerance (доля) плюс latency-slack-ms,
+// или SQL-запросов больше, чем в базе плюс sql-tolerance.
+// Запуск: mvn verify -pl server -Pperf-gate; новая база: -Dshareit.perf-gate.update-baseline=true
+// (записывается в src/test/resources, коммитится вместе с изменением, которое её сдвинуло)
+@Tag("perf-gate")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(BenchmarkFixture.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "shareit.sql.stats.enabled=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.ru.practicum.shareit=WARN"
+})
+public class PerformanceRegressionGateTest {
+    private static final Path BASELINE = Path.of(System.getProperty("shareit.perf-gate.baseline",
+            "src/test/resources/perf-gate/baseline.json"));
+    private static final Path RESULTS = Path.of("target/perf-gate/results.json");
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("shareit.perf-gate.update-baseline");
+    private static final int WARMUP = Integer.getInteger("shareit.perf-gate.warmup", 200);
+    private static final int ITERATIONS = Integer.getInteger("shareit.perf-gate.iterations", 500);
+    private static final double LATENCY_TOLERANCE =
+            Double.parseDouble(System.getProperty("shareit.perf-gate.latency-tolerance", "0.5"));
+    private static final double LATENCY_SLACK_MS =
+            Double.parseDouble(System.getProperty("shareit.perf-gate.latency-slack-ms", "2"));
+    private static final double SQL_TOLERANCE =
+            Double.parseDouble(System.getProperty("shareit.perf-gate.sql-tolerance", "0"));
+
+    private static final int USERS = 20;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BenchmarkFixture fixture;
+
+    private List<User> users;
+    private List<Item> items;
+
+    // Владельцы, вещи, прошлые и будущие бронирования, отзывы, запросы; у каждого пользователя свои вещи
+    @BeforeEach
+    public void seed() {
+        fixture.seed(BenchmarkFixture.Shape.builder()
+                .users(USERS)
+                .owners(USERS)
+                .items(USERS * 10)
+                .bookingsPerItem(6)
+                .commentsPerItem(2)
+                .requestsPerUser(3)
+                .build());
+        users = fixture.getUsers();
+        items = fixture.getItems();
+    }
+
+    @Test
+    public void keyEndpoints_WithinBaseline() throws Exception {
+        User owner = users.get(0);
+        User booker = users.get(1);
+        Item ownedItem = items.get(0);
+        Item bookableItem = items.get(items.size() - 1);
+        LocalDateTime bookingsFrom = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+
+        // Ключ - метод и шаблон URI, как в теге uri метрик shareit.sql.*
+        Map<String, IntFunction<HttpRequest>> workload = new LinkedHashMap<>();
+        workload.put("GET /items/{itemId}", i -> get("/items/" + ownedItem.getId(), owner));
+        workload.put("GET /items", i -> get("/items", owner));
+        workload.put("GET /items/search", i -> get("/items/search?text=drill", booker));
+        workload.put("GET /bookings", i -> get("/bookings?state=ALL&from=0&size=10", booker));
+        workload.put("GET /bookings/owner", i -> get("/bookings/owner?state=ALL&from=0&size=10", owner));
+        workload.put("GET /requests", i -> get("/requests", owner));
+        workload.put("GET /requests/all", i -> get("/requests/all?from=0&size=10", booker));
+        workload.put("GET /users/{userId}", i -> get("/users/" + owner.getId(), owner));
+        // Каждое бронирование - в своём окне, чтобы проверка пересечений не отклоняла запросы
+        workload.put("POST /bookings", i -> post("/bookings", owner, String.format(
+                "{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}", bookableItem.getId(),
+                DATE_TIME.format(bookingsFrom.plusHours(i * 2L)),
+                DATE_TIME.format(bookingsFrom.plusHours(i * 2L + 1)))));
+
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        int sequence = 0;
+        for (Map.Entry<String, IntFunction<HttpRequest>> entry : workload.entrySet()) {
+            results.put(entry.getKey(), measure(entry.getKey(), entry.getValue(), sequence));
+            sequence += WARMUP + ITERATIONS;
+        }
+
+        Files.createDirectories(RESULTS.getParent());
+        mapper.writeValue(RESULTS.toFile(), results);
+        if (UPDATE_BASELINE) {
+            Files.createDirectories(BASELINE.getParent());
+            mapper.writeValue(BASELINE.toFile(), results);
+            System.out.printf("perf-gate: baseline written to %s%n", BASELINE.toAbsolutePath());
+            return;
+        }
+
+        Map<String, EndpointResult> baseline = readBaseline();
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-22s %10s %10s %8s %8s%n", "endpoint", "p95 ms", "base ms", "sql", "base");
+        results.forEach((endpoint, result) -> {
+            EndpointResult expected = baseline.get(endpoint);
+            if (expected == null) {
+                regressions.add(endpoint + ": no baseline, run with -Dshareit.perf-gate.update-baseline=true");
+                return;
+            }
+            System.out.printf("%-22s %10.2f %10.2f %8.2f %8.2f%n", endpoint,
+                    result.getP95Ms(), expected.getP95Ms(), result.getSqlStatements(), expected.getSqlStatements());
+            double latencyLimit = expected.getP95Ms() * (1 + LATENCY_TOLERANCE) + LATENCY_SLACK_MS;
+            if (result.getP95Ms() > latencyLimit) {
+                regressions.add(String.format("%s: p95 %.2f ms > %.2f ms (baseline %.2f ms)",
+                        endpoint, result.getP95Ms(), latencyLimit, expected.getP95Ms()));
+            }
+            if (result.getSqlStatements() > expected.getSqlStatements() + SQL_TOLERANCE + 1e-9) {
+                regressions.add(String.format("%s: %.2f SQL statements per request (baseline %.2f)",
+                        endpoint, result.getSqlStatements(), expected.getSqlStatements()));
+            }
+        });
+
+        assertTrue(regressions.isEmpty(), "Performance regressions:\n" + String.join("\n", regressions));
+    }
+
+    private EndpointResult measure(String endpoint, IntFunction<HttpRequest> requests, int sequence)
+            throws Exception {
+        // Прогрев отдельно: снимок счётчика SQL берётся между ним и замером
+        for (int i = 0; i < WARMUP; i++) {
+            send(endpoint, requests.apply(sequence + i));
+        }
+
+        String[] key = endpoint.split(" ", 2);
+        Search statements = meterRegistry.find("shareit.sql.statements").tag("method", key[0]).tag("uri", key[1]);
+        HistogramSnapshot before = statements.summary().takeSnapshot();
+
+        BenchmarkFixture.Measurement measurement = BenchmarkFixture.measure(0, ITERATIONS,
+                i -> send(endpoint, requests.apply(sequence + WARMUP + i)));
+
+        // Фильтр пишет метрику после ответа, поэтому последний запрос может ещё не попасть в счётчик
+        HistogramSnapshot after = statements.summary().takeSnapshot();
+        for (int attempt = 0; attempt < 100 && after.count() - before.count() < ITERATIONS; attempt++) {
+            Thread.sleep(10);
+            after = statements.summary().takeSnapshot();
+        }
+        assertEquals(ITERATIONS, after.count() - before.count(), endpoint + ": statement count not recorded");
+
+        double p95Ms = measurement.percentileNanos(0.95) / 1e6;
+        double sqlStatements = (after.total() - before.total()) / ITERATIONS;
+        return new EndpointResult(round(p95Ms), round(sqlStatements));
+    }
+
+    private void send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        assertTrue(response.statusCode() < 300, endpoint + " returned " + response.statusCode());
+    }
+
+    private Map<String, EndpointResult> readBaseline() throws IOException {
+        assertTrue(Files.exists(BASELINE),
+                "No baseline at " + BASELINE + ", run with -Dshareit.perf-gate.update-baseline=true");
+        return mapper.readValue(BASELINE.toFile(), new TypeReference<LinkedHashMap<String, EndpointResult>>() {
+        });
+    }
+
+    private HttpRequest get(String path, User user) {
+        return request(path, user).GET().build();
+    }
+
+    private HttpRequest post(String path, User user, String json) {
+        return request(path, user)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, User user) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", String.valueOf(user.getId()));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointResult {
+        private double p95Ms;
+        private double sqlStatements;
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Сравнивает выделение памяти на чтение через сущности + мапперы и через DTO-проекции.
+// Запуск: mvn test -pl server -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@Import(BenchmarkFixture.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+public class ReadProjectionAllocationBenchmarkTest {
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private BenchmarkFixture fixture;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        fixture.seed(BenchmarkFixture.Shape.builder()
+                .items(100)
+                .bookingsPerItem(10)
+                .commentsPerItem(3)
+                .build());
+    }
+
+    @Test
+    public void getAllItems_ProjectionAllocatesLessThanEntities() throws Exception {
+        long entityBytes = measure("getAllItems/entities",
+                i -> readOnly.execute(status -> loadItemsThroughEntities()));
+        long projectionBytes = measure("getAllItems/projections",
+                i -> itemService.getAllItems(fixture.owner().getId()));
+
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    @Test
+    public void getAllBookings_ProjectionAllocatesLessThanEntities() throws Exception {
+        Long bookerId = fixture.booker().getId();
+        long entityBytes = measure("getAllBookings/entities", i -> readOnly.execute(status ->
+                bookingRepository.findByBookerIdOrderByStartDesc(bookerId,
+                                PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "start"))).stream()
+                        .map(BookingMapper::toBookingResponseDto)
+                        .collect(Collectors.toList())));
+        long projectionBytes = measure("getAllBookings/projections",
+                i -> bookingService.getAllBookings("ALL", bookerId, 0, 100));
+
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    // Прежний путь чтения: сущности, снимки для dirty checking и копирование в мапперах
+    private List<ItemResponseDto> loadItemsThroughEntities() {
+        List<Item> items = itemRepository.findByOwnerId(fixture.owner().getId(),
+                PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "id")));
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> last = bookings("b.end < :now ORDER BY b.end DESC", itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b, (first, second) -> first));
+        Map<Long, Booking> next = bookings("b.start > :now ORDER BY b.start ASC", itemIds, now).stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b, (first, second) -> first));
+        Map<Long, List<CommentDto>> comments = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemResponseDto(item,
+                        BookingMapper.toBookingInfoDto(last.get(item.getId())),
+                        BookingMapper.toBookingInfoDto(next.get(item.getId())),
+                        comments.get(item.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private List<Booking> bookings(String condition, List<Long> itemIds, LocalDateTime now) {
+        return entityManager.createQuery("SELECT b FROM Booking b WHERE b.item.id IN :itemIds " +
+                        "AND b.status = :status AND " + condition, Booking.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("status", BookingStatus.APPROVED)
+                .setParameter("now", now)
+                .getResultList();
+    }
+
+    private static long measure(String name, BenchmarkFixture.Call call) throws Exception {
+        return BenchmarkFixture.print(name, BenchmarkFixture.measure(WARMUP, ITERATIONS, call)).allocatedBytesPerOp();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Задержка десяти самых частых запросов репозиториев с профилем pg-tuned и без него.
+// Запуск: mvn test -pl server -Pbenchmark -Dshareit.benchmark.tuned=true|false
+// По умолчанию идёт на H2 из профиля test; для Postgres добавить
+// -Dspring.datasource.url=jdbc:postgresql://localhost:5432/shareit -Dspring.datasource.username=...
+// -Dspring.datasource.password=... -Dspring.datasource.driver-class-name=org.postgresql.Driver
+// -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect
+@Tag("benchmark")
+@SpringBootTest
+@Import(BenchmarkFixture.class)
+@ActiveProfiles(resolver = RepositoryLatencyBenchmarkTest.TunedProfileResolver.class)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+public class RepositoryLatencyBenchmarkTest {
+    private static final int ITEMS = 100;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private BenchmarkFixture fixture;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    public static class TunedProfileResolver implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return Boolean.parseBoolean(System.getProperty("shareit.benchmark.tuned", "true"))
+                    ? new String[]{"test", "pg-tuned"}
+                    : new String[]{"test"};
+        }
+    }
+
+    @BeforeEach
+    public void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        fixture.seed(BenchmarkFixture.Shape.builder()
+                .items(ITEMS)
+                .bookingsPerItem(10)
+                .commentsPerItem(3)
+                .build());
+    }
+
+    @Test
+    public void hottestRepositoryMethods() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Long ownerId = fixture.owner().getId();
+        Long bookerId = fixture.booker().getId();
+        List<Long> itemIds = fixture.getItemIds();
+        Pageable page = PageRequest.of(0, 20);
+        Pageable pageByStart = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start"));
+        Long itemId = itemIds.get(ITEMS / 2);
+
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("Item.findResponseDtoById", () -> itemRepository.findResponseDtoById(itemId));
+        calls.put("Item.findResponseDtosByOwnerId", () -> itemRepository.findResponseDtosByOwnerId(ownerId));
+        calls.put("Item.searchAvailableItems", () -> itemRepository.searchAvailableItems("item 5", page));
+        calls.put("Comment.findDtosByItemIdIn", () -> commentRepository.findDtosByItemIdIn(itemIds));
+        calls.put("Booking.findResponseDtosByBookerId",
+                () -> bookingRepository.findResponseDtosByBookerId(bookerId, page));
+        calls.put("Booking.findCurrentResponseDtosByBookerId",
+                () -> bookingRepository.findCurrentResponseDtosByBookerId(bookerId, now, page));
+        calls.put("Booking.findByItemOwnerIdOrderByStartDesc",
+                () -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pageByStart));
+        calls.put("Booking.findOverlapping",
+                () -> bookingRepository.findByItemIdAndStatusNotAndEndGreaterThanEqualAndStartLessThanEqual(
+                        itemId, BookingStatus.REJECTED, now, now.plusDays(1)));
+        calls.put("Booking.findInfosByItemIdInAndEndBefore",
+                () -> bookingRepository.findInfosByItemIdInAndEndBeforeAndStatus(itemIds, now, BookingStatus.APPROVED));
+        calls.put("Booking.findInfosByItemIdInAndStartAfter",
+                () -> bookingRepository.findInfosByItemIdInAndStartAfterAndStatus(itemIds, now, BookingStatus.APPROVED));
+
+        System.out.printf("profile: %s%n", Boolean.parseBoolean(System.getProperty("shareit.benchmark.tuned", "true"))
+                ? "pg-tuned" : "defaults");
+        for (Map.Entry<String, Runnable> call : calls.entrySet()) {
+            assertTrue(measure(call.getKey(), call.getValue()) > 0);
+        }
+    }
+
+    private long measure(String name, Runnable call) throws Exception {
+        return BenchmarkFixture.print(name, BenchmarkFixture.measure(WARMUP, ITERATIONS,
+                i -> readOnly.executeWithoutResult(status -> call.run()))).meanNanos();
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Байты и CPU на запрос для JSON, Smile и CBOR на самых крупных ответах: страница бронирований владельца
+// и список его вещей с комментариями. "server" - CPU потока MockMvc на весь запрос (запросы к H2 одинаковы
+// для всех форматов, разница даёт сериализация); "gateway" - потоковая перекодировка ответа в JSON,
+// как в WireFormat гейтвея (для JSON гейтвей в passthrough не разбирает тело вовсе).
+// Запуск: mvn test -pl server -Pbenchmark -Dtest=WireFormatBenchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BenchmarkFixture.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+public class WireFormatBenchmarkTest {
+    private static final int WARMUP = 100;
+    private static final int ITERATIONS = 300;
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Map<String, JsonFactory> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put("application/json", JSON);
+        FORMATS.put("application/x-jackson-smile", new SmileFactory());
+        FORMATS.put("application/cbor", new CBORFactory());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BenchmarkFixture fixture;
+
+    @BeforeEach
+    public void seed() {
+        fixture.seed(BenchmarkFixture.Shape.builder()
+                .items(200)
+                .bookingsPerItem(5)
+                .commentsPerItem(5)
+                .build());
+    }
+
+    @Test
+    public void bytesAndCpuPerFormat() throws Exception {
+        Long ownerId = fixture.owner().getId();
+        Map<String, MockHttpServletRequestBuilder> requests = new LinkedHashMap<>();
+        requests.put("GET /bookings/owner?size=1000", get("/bookings/owner")
+                .param("size", "1000")
+                .header("X-Sharer-User-Id", ownerId));
+        requests.put("GET /items (owner)", get("/items")
+                .header("X-Sharer-User-Id", ownerId));
+
+        for (Map.Entry<String, MockHttpServletRequestBuilder> request : requests.entrySet()) {
+            System.out.println(request.getKey());
+            for (Map.Entry<String, JsonFactory> format : FORMATS.entrySet()) {
+                assertTrue(measure(request.getValue(), format.getKey(), format.getValue()) > 0);
+            }
+        }
+    }
+
+    private int measure(MockHttpServletRequestBuilder request, String mediaType, JsonFactory factory) throws Exception {
+        byte[][] body = new byte[1][];
+        long serverCpu = BenchmarkFixture.measure(WARMUP, ITERATIONS, i -> body[0] = perform(request, mediaType))
+                .cpuNanosPerOp();
+        long gatewayCpu = factory == JSON ? 0
+                : BenchmarkFixture.measure(WARMUP, ITERATIONS, i -> transcode(factory, body[0])).cpuNanosPerOp();
+
+        System.out.printf("  %-28s %,9d bytes  server %,7d us  gateway %,6d us%n", mediaType, body[0].length,
+                serverCpu / 1_000, gatewayCpu / 1_000);
+        return body[0].length;
+    }
+
+    private byte[] perform(MockHttpServletRequestBuilder request, String mediaType) throws Exception {
+        return mockMvc.perform(request.accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static byte[] transcode(JsonFactory factory, byte[] body) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = factory.createParser(body); JsonGenerator generator = JSON.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Чтения бронирований после переноса завершившихся в bookings_archive
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class BookingArchiveFallbackTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking approved;
+    private Booking rejected;
+
+    @BeforeEach
+    public void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@example.com").build());
+        booker = persist(User.builder().name("Booker").email("booker@example.com").build());
+        item = persist(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2);
+        approved = persistBooking(twoYearsAgo, twoYearsAgo.plusDays(1), BookingStatus.APPROVED);
+        rejected = persistBooking(twoYearsAgo.plusDays(2), twoYearsAgo.plusDays(3), BookingStatus.REJECTED);
+        entityManager.flush();
+
+        assertEquals(2, bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(1)));
+        entityManager.clear();
+    }
+
+    @Test
+    public void getBooking_Archived_ReturnsIt() {
+        BookingResponseDto result = bookingService.getBooking(approved.getId(), booker.getId());
+
+        assertEquals(approved.getId(), result.getId());
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        assertEquals(item.getId(), result.getItem().getId());
+        assertEquals(approved.getId(), bookingService.getBooking(approved.getId(), owner.getId()).getId());
+    }
+
+    @Test
+    public void getBooking_ArchivedForeignUser_ThrowsNotFound() {
+        User stranger = persist(User.builder().name("Stranger").email("stranger@example.com").build());
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.getBooking(approved.getId(), stranger.getId()));
+    }
+
+    @Test
+    public void getAllBookings_AllAndRejected_IncludeArchived() {
+        persistBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), BookingStatus.WAITING);
+        entityManager.flush();
+
+        List<Long> all = ids(bookingService.getAllBookings("ALL", booker.getId(), 0, 10));
+        assertEquals(3, all.size());
+        assertEquals(List.of(rejected.getId(), approved.getId()), all.subList(1, 3));
+
+        assertEquals(List.of(rejected.getId()), ids(bookingService.getAllBookings("REJECTED", booker.getId(), 0, 10)));
+        // Вторая страница начинается в архиве
+        assertEquals(List.of(approved.getId()), ids(bookingService.getAllBookings("ALL", booker.getId(), 2, 2)));
+    }
+
+    @Test
+    public void getAllBookings_LongLiveBookingStartedBeforeArchived_OrderedByStart() {
+        Booking longLive = persistBooking(LocalDateTime.now().minusYears(3), LocalDateTime.now().plusDays(1),
+                BookingStatus.APPROVED);
+        entityManager.flush();
+
+        assertEquals(List.of(rejected.getId(), approved.getId(), longLive.getId()),
+                ids(bookingService.getAllBookings("ALL", booker.getId(), 0, 10)));
+        assertEquals(List.of(rejected.getId()), ids(bookingService.getAllBookings("ALL", booker.getId(), 0, 1)));
+        assertEquals(List.of(approved.getId()), ids(bookingService.getAllBookings("ALL", booker.getId(), 1, 1)));
+        assertEquals(List.of(longLive.getId()), ids(bookingService.getAllBookings("ALL", booker.getId(), 2, 1)));
+        assertEquals(List.of(rejected.getId(), approved.getId(), longLive.getId()),
+                ids(bookingService.getOwnerBookings("ALL", owner.getId(), 0, 10)));
+    }
+
+    @Test
+    public void getOwnerBookings_AllAndRejected_IncludeArchived() {
+        assertEquals(List.of(rejected.getId(), approved.getId()),
+                ids(bookingService.getOwnerBookings("ALL", owner.getId(), 0, 10)));
+        assertEquals(List.of(rejected.getId()),
+                ids(bookingService.getOwnerBookings("REJECTED", owner.getId(), 0, 10)));
+    }
+
+    @Test
+    public void getItem_OnlyArchivedBookings_LastBookingFromArchive() {
+        ItemResponseDto single = itemService.getItemById(item.getId(), owner.getId());
+        assertNotNull(single.getLastBooking());
+        assertEquals(approved.getId(), single.getLastBooking().getId());
+
+        List<ItemResponseDto> items = itemService.getAllItems(owner.getId());
+        assertEquals(1, items.size());
+        assertNotNull(items.get(0).getLastBooking());
+        assertEquals(approved.getId(), items.get(0).getLastBooking().getId());
+    }
+
+    @Test
+    public void addComment_OnlyArchivedBooking_Allowed() {
+        var comment = itemService.addComment(item.getId(),
+                CommentRequestDto.builder().text("Still works").build(), booker.getId());
+
+        assertEquals("Still works", comment.getText());
+    }
+
+    private Booking persistBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return persist(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private static List<Long> ids(List<BookingResponseDto> bookings) {
+        return bookings.stream().map(BookingResponseDto::getId).toList();
+    }
+}
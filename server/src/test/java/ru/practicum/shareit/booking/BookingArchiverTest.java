@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BookingArchiver.class)
+@TestPropertySource(properties = "shareit.bookings.archive.batch-size=2")
+public class BookingArchiverTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        User owner = entityManager.persist(User.builder()
+                .name("Owner")
+                .email("owner@example.com")
+                .build());
+
+        booker = entityManager.persist(User.builder()
+                .name("Booker")
+                .email("booker@example.com")
+                .build());
+
+        item = entityManager.persist(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    public void archiveEndedBefore_MovesOnlyExpiredBookingsInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            persistBooking(now.minusYears(2).plusDays(i), now.minusYears(2).plusDays(i + 1));
+        }
+        Booking recent = persistBooking(now.minusDays(3), now.minusDays(2));
+        entityManager.flush();
+
+        int archived = bookingArchiver.archiveEndedBefore(now.minusYears(1));
+        entityManager.clear();
+
+        assertEquals(3, archived);
+        assertEquals(List.of(recent.getId()), bookingRepository.findAll().stream().map(Booking::getId).toList());
+
+        List<ArchivedBooking> history = archivedBookingRepository
+                .findByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 10));
+        assertEquals(3, history.size());
+        assertEquals(item.getId(), history.get(0).getItem().getId());
+        assertEquals(BookingStatus.APPROVED, history.get(0).getStatus());
+    }
+
+    @Test
+    public void archiveEndedBefore_NothingExpired_ReturnsZero() {
+        persistBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        entityManager.flush();
+
+        assertEquals(0, bookingArchiver.archiveEndedBefore(LocalDateTime.now().minusYears(1)));
+        assertEquals(1, bookingRepository.count());
+    }
+
+    private Booking persistBooking(LocalDateTime start, LocalDateTime end) {
+        return entityManager.persist(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,8 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +43,9 @@ public class BookingControllerIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private BookingService bookingService;
+
     private Long ownerId;
     private Long bookerId;
     private Long itemId;
@@ -149,6 +156,17 @@ public class BookingControllerIntegrationTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    public void getAllBookings_SqlStatsEnabled_ReturnsSqlHeaders() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("state", "ALL"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", not("0")))
+                .andExpect(header().exists("X-Sql-Rows"))
+                .andExpect(header().exists("X-Sql-Time-Ms"));
+    }
+
     @Test
     public void getOwnerBookings_ValidRequest_ReturnsOk() throws Exception {
         mockMvc.perform(get("/bookings/owner")
@@ -159,4 +177,50 @@ public class BookingControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
+
+    @Test
+    public void getOwnerBookings_BinaryAccept_ReturnsSameDataAsJson() throws Exception {
+        bookingService.createBooking(BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), bookerId);
+
+        byte[] json = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Даты должны остаться строками ISO, а не массивами: гейтвей перекодирует ответ в JSON как есть
+        assertEquals(objectMapper.readTree(json), new SmileMapper().readTree(smile));
+        assertEquals(objectMapper.readTree(json), new CBORMapper().readTree(cbor));
+    }
+
+    @Test
+    public void getBooking_AnyAccept_ReturnsJson() throws Exception {
+        var booking = bookingService.createBooking(BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), bookerId);
+
+        mockMvc.perform(get("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", bookerId)
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
 }
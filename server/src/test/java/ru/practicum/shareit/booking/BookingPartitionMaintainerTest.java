@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Партиционирование есть только в Postgres, поэтому проверяется порядок команд, а не H2
+public class BookingPartitionMaintainerTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BookingPartitionMaintainer maintainer = new BookingPartitionMaintainer(
+            jdbcTemplate, mock(PlatformTransactionManager.class), 3, Duration.ofDays(365));
+
+    @Test
+    public void createPartition_RowsOfMonthInDefault_MovesThemIntoNewPartition() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class), any()))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class))).thenReturn(true);
+
+        maintainer.createPartition(YearMonth.of(2027, 2));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE");
+        order.verify(jdbcTemplate).execute("ALTER TABLE bookings DETACH PARTITION bookings_default");
+        order.verify(jdbcTemplate).execute("CREATE TABLE bookings_p202702 PARTITION OF bookings " +
+                "FOR VALUES FROM ('2027-02-01 00:00:00') TO ('2027-03-01 00:00:00')");
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO bookings SELECT * FROM bookings_default WHERE"));
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM bookings_default WHERE"));
+        order.verify(jdbcTemplate).execute("ALTER TABLE bookings ATTACH PARTITION bookings_default DEFAULT");
+    }
+
+    @Test
+    public void createPartition_DefaultHasNoRowsOfMonth_OnlyCreatesPartition() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class), any()))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class))).thenReturn(false);
+
+        maintainer.createPartition(YearMonth.of(2027, 2));
+
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE bookings_p202702"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH"));
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    @Test
+    public void createPartition_AlreadyExists_DoesNothing() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class), any()))
+                .thenReturn(true);
+
+        maintainer.createPartition(YearMonth.of(2027, 2));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
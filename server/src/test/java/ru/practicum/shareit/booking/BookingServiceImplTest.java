@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
@@ -36,6 +37,9 @@ public class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -87,7 +91,8 @@ public class BookingServiceImplTest {
     public void createBooking_ValidBooking_ReturnsBookingResponseDto() {
         when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(bookingRepository.findByItemIdAndStatusNot(eq(1L), any())).thenReturn(List.of());
+        when(bookingRepository.findByItemIdAndStatusNotAndEndGreaterThanEqualAndStartLessThanEqual(
+                eq(1L), any(), any(), any())).thenReturn(List.of());
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingResponseDto result = bookingService.createBooking(bookingRequestDto, 2L);
@@ -140,8 +145,8 @@ public class BookingServiceImplTest {
     @Test
     public void getAllBookings_AllState_ReturnsBookings() {
         when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(eq(2L), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findResponseDtosByBookerId(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> result = bookingService.getAllBookings("ALL", 2L, 0, 10);
 
@@ -171,4 +176,66 @@ public class BookingServiceImplTest {
         assertThrows(ValidationException.class, () ->
                 bookingService.createBooking(bookingRequestDto, 2L));
     }
+
+    @Test
+    public void getAllBookings_PastStateLivePageNewerThanArchive_ReadsOnlyNewestArchived() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPastResponseDtosByBookerId(eq(2L), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
+        when(archivedBookingRepository.findResponseDtosByBookerId(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(archived(7L, LocalDateTime.now().minusYears(2)))));
+
+        List<BookingResponseDto> result = bookingService.getAllBookings("PAST", 2L, 0, 1);
+
+        assertEquals(List.of(1L), result.stream().map(BookingResponseDto::getId).toList());
+        verify(archivedBookingRepository).findResponseDtosByBookerId(eq(2L),
+                argThat(pageable -> pageable.getOffset() == 0 && pageable.getPageSize() == 1));
+        verifyNoMoreInteractions(archivedBookingRepository);
+    }
+
+    @Test
+    public void getAllBookings_PastStatePageReachesArchive_AppendsArchivedBookings() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(bookingRepository.findPastResponseDtosByBookerId(eq(2L), any(), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(booking)));
+        when(archivedBookingRepository.findResponseDtosByBookerId(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(archived(7L, LocalDateTime.now().minusYears(2)))));
+
+        List<BookingResponseDto> result = bookingService.getAllBookings("PAST", 2L, 0, 10);
+
+        assertEquals(List.of(1L, 7L), result.stream().map(BookingResponseDto::getId).toList());
+        verify(bookingRepository, times(1)).findPastResponseDtosByBookerId(eq(2L), any(), any(Pageable.class));
+        verify(archivedBookingRepository).findResponseDtosByBookerId(eq(2L),
+                argThat(pageable -> pageable.getOffset() == 0 && pageable.getPageSize() == 10));
+    }
+
+    @Test
+    public void getAllBookings_LiveBookingStartedBeforeArchived_MergedByStart() {
+        // Долгое живое бронирование началось раньше архивного: на общей странице оно идёт после него
+        booking.setStart(LocalDateTime.now().minusYears(3));
+        booking.setEnd(LocalDateTime.now().plusDays(1));
+        BookingResponseDto live = BookingMapper.toBookingResponseDto(booking);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(bookingRepository.findResponseDtosByBookerId(eq(2L), any(Pageable.class)))
+                .thenAnswer(invocation -> invocation.<Pageable>getArgument(1).getOffset() == 0
+                        ? List.of(live) : List.of());
+        when(archivedBookingRepository.findResponseDtosByBookerId(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.toBookingResponseDto(archived(7L, LocalDateTime.now().minusYears(2)))));
+
+        assertEquals(List.of(7L), bookingService.getAllBookings("ALL", 2L, 0, 1).stream()
+                .map(BookingResponseDto::getId).toList());
+        assertEquals(List.of(1L), bookingService.getAllBookings("ALL", 2L, 1, 1).stream()
+                .map(BookingResponseDto::getId).toList());
+    }
+
+    private ArchivedBooking archived(Long id, LocalDateTime start) {
+        return ArchivedBooking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
 }
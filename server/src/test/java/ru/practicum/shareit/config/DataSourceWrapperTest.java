@@ -0,0 +1,35 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Обёртки из разных конфигураций ставятся в порядке DataSourceWrapper: пул, медленные запросы, трассировка, счётчики
+@SpringBootTest
+@ActiveProfiles("test")
+public class DataSourceWrapperTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void dataSource_WrappedInOrder() throws Exception {
+        assertInstanceOf(StatementCountingDataSource.class, dataSource);
+
+        DataSource tracing = dataSource.unwrap(StatementTracingDataSource.class);
+        assertFalse(tracing.isWrapperFor(StatementCountingDataSource.class));
+
+        DataSource slowQuery = tracing.unwrap(SlowQueryDataSource.class);
+        assertFalse(slowQuery.isWrapperFor(StatementTracingDataSource.class));
+
+        DataSource pool = slowQuery.unwrap(PoolWaitTrackingDataSource.class);
+        assertFalse(pool.isWrapperFor(SlowQueryDataSource.class));
+        assertNotNull(pool.unwrap(HikariDataSource.class));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.config;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEndpointTest {
+    private final FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint("default");
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        endpoint.destroy();
+    }
+
+    @Test
+    public void startStopDownload_ReturnsReadableRecording() throws Exception {
+        assertEquals("NONE", endpoint.status().getState());
+
+        FlightRecordingDto started = endpoint.control("start", null, Duration.ofMinutes(5), null);
+        assertEquals("RUNNING", started.getState());
+        assertEquals("default", started.getSettings());
+        assertEquals(300, started.getMaxAgeSeconds());
+
+        // Копия идущей записи выгружается без её остановки
+        Resource snapshot = endpoint.download("download");
+        assertTrue(RecordingFile.readAllEvents(snapshot.getFile().toPath()).size() > 0);
+        assertEquals("RUNNING", endpoint.status().getState());
+
+        assertEquals("STOPPED", endpoint.control("stop", null, null, null).getState());
+        Resource recording = endpoint.download("download");
+        assertTrue(recording.contentLength() > 0);
+        assertTrue(RecordingFile.readAllEvents(recording.getFile().toPath()).stream()
+                .noneMatch(event -> FlightRecorderEndpoint.SECRET_EVENTS.contains(event.getEventType().getName())));
+    }
+
+    @Test
+    public void control_StartTwiceOrUnknownAction_Rejected() {
+        endpoint.control("start", null, null, null);
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("start", null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("pause", null, null, null));
+    }
+
+    @Test
+    public void download_NoRecording_ReturnsNull() {
+        assertNull(endpoint.download("download"));
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    private HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        endpoint.clear();
+    }
+
+    @Test
+    public void statistics_AfterQueriesAndLoads_ReportsTopQueriesAndEntityLoads() {
+        User user = userRepository.save(User.builder().name("Stats User").email("stats@example.com").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < 3; i++) {
+            userRepository.findByEmail("stats@example.com");
+        }
+        entityManager.clear();
+        userRepository.findById(user.getId());
+
+        HibernateStatisticsDto statistics = endpoint.statistics(1);
+
+        assertTrue(statistics.isEnabled());
+        assertEquals(1, statistics.getTopQueriesByCount().size());
+        HibernateStatisticsDto.QueryDto top = statistics.getTopQueriesByCount().get(0);
+        assertTrue(top.getQuery().contains("email"));
+        assertEquals(3, top.getExecutions());
+        assertEquals(1, statistics.getTopQueriesByTime().size());
+
+        HibernateStatisticsDto.EntityDto users = statistics.getEntities().stream()
+                .filter(entity -> entity.getEntity().equals("User"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(users.getLoads() >= 2);
+        assertTrue(users.getInserts() >= 1);
+        assertNull(users.getCache());
+        assertTrue(statistics.getEntities().stream()
+                .map(HibernateStatisticsDto.EntityDto::getEntity)
+                .toList()
+                .containsAll(List.of("Booking", "Item", "User", "Comment", "ItemRequest")));
+
+        // Второй уровень кеша не настроен: обращений нет, доля не считается
+        assertEquals(0, statistics.getSecondLevelCache().getHits());
+        assertNull(statistics.getSecondLevelCache().getHitRatio());
+        assertNotNull(statistics.getQueryPlanCache());
+
+        assertTrue(meterRegistry.get(HibernateStatisticsConfig.ENTITY_LOADS).tag("entity", "User")
+                .functionCounter().count() >= 2);
+        assertNotNull(meterRegistry.find("hibernate.sessions.open").functionCounter());
+    }
+
+    @Test
+    public void clear_ResetsCounters() {
+        userRepository.findByEmail("nobody@example.com");
+        assertFalse(endpoint.statistics(null).getTopQueriesByCount().isEmpty());
+
+        endpoint.clear();
+
+        HibernateStatisticsDto statistics = endpoint.statistics(null);
+        assertTrue(statistics.getTopQueriesByCount().isEmpty());
+        assertEquals(0, statistics.getEntityLoads());
+    }
+}
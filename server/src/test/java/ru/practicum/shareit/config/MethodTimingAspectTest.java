@@ -0,0 +1,106 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodTimingAspectTest {
+    private SimpleMeterRegistry registry;
+    private MethodTimingAspect aspect;
+    private BookingRepository bookingRepository;
+    private UserRepository userRepository;
+    private BookingService bookingService;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        aspect = new MethodTimingAspect(registry);
+        bookingRepository = mock(BookingRepository.class);
+        userRepository = mock(UserRepository.class);
+        bookingService = proxy(new BookingServiceImpl(proxy(bookingRepository), proxy(mock(ItemRepository.class)),
+                proxy(userRepository), proxy(mock(ArchivedBookingRepository.class))));
+    }
+
+    @Test
+    public void getAllBookings_TimesServiceAndRepositoryCallsWithStateAndCaller() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).build()));
+        when(bookingRepository.findResponseDtosByBookerIdAndStatus(eq(2L), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        bookingService.getAllBookings("waiting", 2L, 0, 10);
+
+        Timer service = registry.get(MethodTimingAspect.SERVICE_TIMER)
+                .tags("service", "BookingServiceImpl", "method", "getAllBookings",
+                        "state", "WAITING", "outcome", "ok")
+                .timer();
+        assertEquals(1, service.count());
+        Timer repository = registry.get(MethodTimingAspect.REPOSITORY_TIMER)
+                .tags("repository", "BookingRepository", "method", "findResponseDtosByBookerIdAndStatus",
+                        "caller", "BookingServiceImpl.getAllBookings", "state", "WAITING", "outcome", "ok")
+                .timer();
+        assertEquals(1, repository.count());
+        assertEquals(1, registry.get(MethodTimingAspect.REPOSITORY_TIMER)
+                .tags("repository", "UserRepository", "method", "findById").timer().count());
+    }
+
+    @Test
+    public void getAllBookings_UnknownState_TaggedAsValidation() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).build()));
+
+        assertThrows(ValidationException.class, () -> bookingService.getAllBookings("SOMETIMES", 2L, 0, 10));
+
+        assertEquals(1, registry.get(MethodTimingAspect.SERVICE_TIMER)
+                .tags("method", "getAllBookings", "state", "UNKNOWN", "outcome", "validation")
+                .timer().count());
+    }
+
+    @Test
+    public void getBooking_Missing_TaggedAsNotFound() {
+        when(bookingRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.getBooking(99L, 1L));
+
+        assertEquals(1, registry.get(MethodTimingAspect.SERVICE_TIMER)
+                .tags("method", "getBooking", "state", "none", "outcome", "not-found")
+                .timer().count());
+        assertEquals(1, registry.get(MethodTimingAspect.REPOSITORY_TIMER)
+                .tags("method", "findById", "caller", "BookingServiceImpl.getBooking", "outcome", "ok")
+                .timer().count());
+    }
+
+    @Test
+    public void outcome_MapsExceptionTypes() {
+        assertEquals("not-found", MethodTimingAspect.outcome(new NotFoundException("x")));
+        assertEquals("validation", MethodTimingAspect.outcome(new IllegalArgumentException("x")));
+        assertEquals("forbidden", MethodTimingAspect.outcome(new SecurityException("x")));
+        assertEquals("error", MethodTimingAspect.outcome(new IllegalStateException("x")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PoolWaitTrackingDataSourceTest {
+
+    @Test
+    public void getWaiters_ThreadBlockedInGetConnection_ReturnsThatThread() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Connection connection = mock(Connection.class);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return connection;
+        });
+        PoolWaitTrackingDataSource dataSource = new PoolWaitTrackingDataSource(target);
+
+        CompletableFuture<Connection> acquired = new CompletableFuture<>();
+        Thread request = new Thread(() -> {
+            try {
+                acquired.complete(dataSource.getConnection());
+            } catch (Exception e) {
+                acquired.completeExceptionally(e);
+            }
+        }, "http-request-1");
+        request.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        Map<Thread, Long> waiters = dataSource.getWaiters();
+        assertEquals(1, waiters.size());
+        assertTrue(waiters.containsKey(request));
+
+        release.countDown();
+        assertSame(connection, acquired.get(5, TimeUnit.SECONDS));
+        assertTrue(dataSource.getWaiters().isEmpty());
+    }
+
+    @Test
+    public void poolSize_CappedByCoresAndExpectedConcurrency() {
+        assertEquals(9, DataSourcePoolConfig.poolSize(4, 20));
+        assertEquals(6, DataSourcePoolConfig.poolSize(16, 6));
+        assertEquals(2, DataSourcePoolConfig.poolSize(1, 1));
+    }
+
+    @Test
+    public void hikariPoolSizer_StandardMaximumPoolSizeSet_KeepsIt() {
+        HikariDataSource configured = new HikariDataSource();
+        configured.setMaximumPoolSize(7);
+        sizer(7, 12).postProcessAfterInitialization(configured, "dataSource");
+        assertEquals(7, configured.getMaximumPoolSize());
+
+        HikariDataSource sized = new HikariDataSource();
+        sizer(null, 12).postProcessAfterInitialization(sized, "dataSource");
+        assertEquals(12, sized.getMaximumPoolSize());
+    }
+
+    private static BeanPostProcessor sizer(Integer hikariMaximumPoolSize, int poolSize) {
+        return DataSourcePoolConfig.hikariPoolSizer(hikariMaximumPoolSize, poolSize, 20, false);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SchemaIndexCheck.class)
+// Схему создаёт только Flyway, чтобы проверялись индексы из миграций
+@TestPropertySource(properties = "spring.jpa.hibernate.ddl-auto=none")
+public class SchemaIndexCheckTest {
+
+    @Autowired
+    private SchemaIndexCheck schemaIndexCheck;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void findMissingIndexes_AfterMigrations_ReturnsEmptyList() {
+        assertEquals(List.of(), schemaIndexCheck.findMissingIndexes());
+    }
+
+    @Test
+    public void findMissingIndexes_IndexDropped_ReturnsItsName() {
+        // DDL в H2 не откатывается вместе с тестовой транзакцией, поэтому возвращаем индекс сами
+        jdbcTemplate.execute("DROP INDEX idx_comments_item");
+        try {
+            assertEquals(List.of("idx_comments_item"), schemaIndexCheck.findMissingIndexes());
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX idx_comments_item ON comments (item_id)");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServiceTracingAspectTest {
+
+    @Test
+    public void serviceMethod_Throws_SpanNamedByServiceAndMarkedWithError() {
+        SimpleTracer tracer = new SimpleTracer();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UserServiceImpl(userRepository));
+        factory.addAspect(new ServiceTracingAspect(tracer));
+        UserService userService = factory.getProxy();
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(1L));
+
+        SimpleSpan span = tracer.onlySpan();
+        assertEquals("UserServiceImpl.getUserById", span.getName());
+        assertInstanceOf(NotFoundException.class, span.getError());
+        assertTrue(span.getEndTimestamp().toEpochMilli() > 0);
+    }
+}
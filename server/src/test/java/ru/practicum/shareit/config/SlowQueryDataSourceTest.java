@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryDataSourceTest {
+    private SlowQueryLog slowQueryLog;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    public void setUp() {
+        // Нулевой порог: медленным считается любой запрос
+        slowQueryLog = new SlowQueryLog(Duration.ZERO, true, Duration.ofMinutes(1), 3);
+        jdbc = new JdbcTemplate(new SlowQueryDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:slow-query;DB_CLOSE_DELAY=-1", "sa", ""), slowQueryLog));
+        jdbc.execute("create table things (id bigint primary key, name varchar(50))");
+        jdbc.update("insert into things values (?, ?)", 1, "secret");
+        slowQueryLog.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.execute("drop table things");
+    }
+
+    @Test
+    public void slowQuery_RecordedWithoutValuesAndExplainedWithBoundParameters() throws Exception {
+        jdbc.queryForList("select id from things where name = ?", Long.class, "secret");
+
+        SlowQueryDto entry = slowQueryLog.getEntries().get(0);
+        assertEquals("select id from things where name = ?", entry.getSql());
+        assertEquals(1, entry.getParameterCount());
+        waitForPlan(entry);
+        assertNull(entry.getExplainError());
+        assertTrue(entry.getPlan().contains("THINGS"), entry.getPlan());
+    }
+
+    @Test
+    public void literalsInSql_Redacted() {
+        jdbc.queryForList("select id from things where name = 'secret'", Long.class);
+
+        assertEquals("select id from things where name = ?", slowQueryLog.getEntries().get(0).getSql());
+    }
+
+    @Test
+    public void buffer_KeepsNewestEntriesUpToCapacity() {
+        for (int id = 1; id <= 5; id++) {
+            jdbc.queryForList("select name from things where id = ?", String.class, id);
+        }
+        jdbc.queryForList("select count(*) from things", Long.class);
+
+        List<SlowQueryDto> entries = slowQueryLog.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals("select count(*) from things", entries.get(0).getSql());
+    }
+
+    private static void waitForPlan(SlowQueryDto entry) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (entry.getPlan() == null && entry.getExplainError() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Верхняя граница числа SQL-запросов для кода под тестом. Нужен профиль test (shareit.sql.stats.enabled=true),
+// иначе DataSource не обёрнут и счёт всегда 0. При провале в сообщении формы запросов с числом повторов.
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> action) {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            T result;
+            try {
+                result = action.get();
+            } catch (Throwable e) {
+                throw new AssertionError("Action under statement count failed", e);
+            }
+            if (stats.getStatements() > max) {
+                StringBuilder message = new StringBuilder("Expected at most " + max + " SQL statements, but was "
+                        + stats.getStatements() + ":");
+                stats.getStatementsByShape().forEach((shape, count) ->
+                        message.append(System.lineSeparator()).append(count).append(" x ").append(shape));
+                fail(message.toString());
+            }
+            return result;
+        }
+    }
+
+    public static SqlStatementStats countStatements(Runnable action) {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            action.run();
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCountingDataSourceTest {
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    public void setUp() {
+        jdbc = new JdbcTemplate(new StatementCountingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1", "sa", "")));
+        jdbc.execute("create table things (id bigint primary key, name varchar(50))");
+        jdbc.batchUpdate("insert into things values (?, ?)", List.of(
+                new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.execute("drop table things");
+    }
+
+    @Test
+    public void countStatements_QueriesAndUpdates_CountsStatementsAndRows() {
+        SqlStatementStats stats = SqlStatementAssertions.countStatements(() -> {
+            jdbc.queryForList("select name from things order by id", String.class);
+            jdbc.update("update things set name = ? where id = ?", "z", 1);
+        });
+
+        assertEquals(2, stats.getStatements());
+        assertEquals(4, stats.getRows());
+        assertTrue(stats.getJdbcNanos() > 0);
+    }
+
+    @Test
+    public void countStatements_OutsideScope_CountsNothing() {
+        jdbc.queryForList("select name from things", String.class);
+
+        SqlStatementStats stats = SqlStatementAssertions.countStatements(() -> {
+        });
+
+        assertEquals(0, stats.getStatements());
+    }
+
+    @Test
+    public void getRepeatedShapes_SameQueryWithDifferentLiterals_GroupedIntoOneShape() {
+        SqlStatementStats stats = SqlStatementAssertions.countStatements(() -> {
+            for (int id = 1; id <= 3; id++) {
+                jdbc.queryForList("select name from things where id = " + id, String.class);
+            }
+            jdbc.queryForList("select name from things where name in ('a', 'b')", String.class);
+        });
+
+        Map<String, Integer> repeated = stats.getRepeatedShapes(2);
+        assertEquals(Map.of("select name from things where id = ?", 3), repeated);
+    }
+
+    @Test
+    public void shape_InListAndWhitespace_Collapsed() {
+        assertEquals("select * from items i1_0 where i1_0.id in (?) limit ?",
+                SqlStatementStats.shape("select *\n  from items i1_0 where i1_0.id in (?, ?, ?) limit 10"));
+    }
+
+    @Test
+    public void nestedScope_CountsPropagateToOuter() {
+        try (SqlStatementStats outer = SqlStatementStats.start()) {
+            try (SqlStatementStats inner = SqlStatementStats.start()) {
+                jdbc.queryForList("select name from things", String.class);
+                assertEquals(1, inner.getStatements());
+            }
+            jdbc.queryForList("select name from things", String.class);
+            assertEquals(2, outer.getStatements());
+        }
+    }
+}
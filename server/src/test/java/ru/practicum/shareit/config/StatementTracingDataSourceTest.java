@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementTracingDataSourceTest {
+    private SimpleTracer tracer;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    public void setUp() {
+        tracer = new SimpleTracer();
+        jdbc = new JdbcTemplate(new StatementTracingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:statement-tracing;DB_CLOSE_DELAY=-1", "sa", ""),
+                new StaticListableBeanFactory(Map.of("tracer", tracer)).getBeanProvider(Tracer.class)));
+        jdbc.execute("create table things (id bigint primary key, name varchar(50))");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbc.execute("drop table things");
+    }
+
+    @Test
+    public void execute_InsideTrace_CreatesChildSpanWithStatementShape() {
+        Span request = tracer.nextSpan().name("http get /things").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+            jdbc.update("insert into things values (1, 'secret')");
+            jdbc.queryForList("select name from things where id = ?", String.class, 1);
+        } finally {
+            request.end();
+        }
+
+        List<SimpleSpan> jdbcSpans = tracer.getSpans().stream()
+                .filter(span -> span.getName().startsWith("jdbc"))
+                .toList();
+        assertEquals(2, jdbcSpans.size());
+        assertEquals("jdbc insert", jdbcSpans.get(0).getName());
+        assertEquals("insert into things values (?, ?)", jdbcSpans.get(0).getTags().get("db.statement"));
+        assertEquals("jdbc select", jdbcSpans.get(1).getName());
+        jdbcSpans.forEach(span -> {
+            assertEquals(request.context().traceId(), span.getTraceId());
+            assertEquals(request.context().spanId(), span.getParentId());
+        });
+    }
+
+    @Test
+    public void execute_OutsideTrace_CreatesNoSpans() {
+        jdbc.queryForList("select name from things", String.class);
+
+        assertTrue(tracer.getSpans().isEmpty());
+    }
+}
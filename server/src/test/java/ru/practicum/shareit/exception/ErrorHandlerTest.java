@@ -2,8 +2,10 @@ package ru.practicum.shareit.exception;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.item.model.Item;
 
 import java.util.Map;
 
@@ -43,4 +45,12 @@ public class ErrorHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
         assertEquals("Bad request", result.getBody().get("error"));
     }
+
+    @Test
+    public void handleOptimisticLockingFailure_ShouldReturnRetryMessage() {
+        Map<String, String> result = errorHandler.handleOptimisticLockingFailure(
+                new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        assertEquals("Resource was modified by a concurrent request, retry", result.get("error"));
+    }
 }
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// PATCH вещи и отзыв к ней в параллельных транзакциях: отзыв поднимает версию вещи между чтением и записью PATCH,
+// PATCH падает на проверке версии (ErrorHandler отвечает 409). Без транзакции теста: отзыв коммитится раньше PATCH
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemConcurrentUpdateTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("concurrent-owner@example.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("concurrent-booker@example.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void updateItem_CommentAddedConcurrently_ThrowsOptimisticLockingFailure() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+            // PATCH прочитал вещь, затем отзыв в другой транзакции поднял её версию и закоммитился
+            itemRepository.findById(item.getId());
+            CompletableFuture.runAsync(() -> itemService.addComment(item.getId(),
+                    CommentRequestDto.builder().text("Great drill").build(), booker.getId())).join();
+            itemService.updateItem(item.getId(), ItemUpdateDto.builder().name("Hammer drill").build(), owner.getId());
+        }));
+
+        assertEquals("Drill", itemRepository.findById(item.getId()).orElseThrow().getName());
+        assertEquals(1, commentRepository.count());
+    }
+}
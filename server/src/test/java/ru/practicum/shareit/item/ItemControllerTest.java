@@ -15,6 +15,8 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -159,4 +161,29 @@ public class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Updated Name"));
     }
+
+    @Test
+    public void getItem_ReturnsETag() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn("\"3\"");
+        when(itemService.getItemById(1L, 1L)).thenReturn(itemResponseDto);
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    public void getItem_MatchingIfNoneMatch_ReturnsNotModifiedWithoutLoadingItem() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn("\"3\"");
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
 }
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
@@ -19,6 +23,8 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +45,9 @@ public class ItemServiceImplTest {
     @Mock
     private ru.practicum.shareit.booking.BookingRepository bookingRepository;
 
+    @Mock
+    private ru.practicum.shareit.booking.ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private CommentRepository commentRepository;
 
@@ -98,10 +107,10 @@ public class ItemServiceImplTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
 
         // Мокаем методы для получения бронирований
-        when(bookingRepository.findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(anyLong(), any(), any()))
-                .thenReturn(Optional.empty());
-        when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(anyLong(), any(), any()))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.findInfosByItemIdAndEndBeforeAndStatus(anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findInfosByItemIdAndStartAfterAndStatus(anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
         when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
 
         ItemResponseDto result = itemService.updateItem(1L, itemUpdateDto, 1L);
@@ -122,32 +131,44 @@ public class ItemServiceImplTest {
 
     @Test
     public void getItemById_ItemExists_ReturnsItemDto() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
+        when(itemRepository.findResponseDtoById(1L))
+                .thenReturn(Optional.of(new ItemResponseDto(1L, "Test Item", "Test Description", true, 1L, null)));
+        when(commentRepository.findDtosByItemId(anyLong())).thenReturn(List.of());
 
         ItemResponseDto result = itemService.getItemById(1L, 1L);
 
         assertNotNull(result);
         assertEquals(item.getId(), result.getId());
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void getItemById_ItemNotFound_ThrowsNotFoundException() {
+        when(itemRepository.findResponseDtoById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(1L, 1L));
     }
 
     @Test
     public void getAllItemsByOwner_ReturnsOwnerItems() {
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "id"));
-        when(itemRepository.findByOwnerId(1L, pageable)).thenReturn(List.of(item));
+        when(itemRepository.findResponseDtosByOwnerId(1L))
+                .thenReturn(List.of(new ItemResponseDto(1L, "Test Item", "Test Description", true, 1L, null)));
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
 
         // Мокаем методы для получения бронирований и комментариев
-        when(bookingRepository.findByItemIdInAndEndBeforeAndStatusOrderByEndDesc(anyList(), any(), any()))
-                .thenReturn(List.of());
-        when(bookingRepository.findByItemIdInAndStartAfterAndStatusOrderByStartAsc(anyList(), any(), any()))
+        when(bookingRepository.findInfosByItemIdInAndEndBeforeAndStatus(anyList(), any(), any()))
+                .thenReturn(List.of(new BookingInfoDto(5L, 2L, 1L)));
+        when(bookingRepository.findInfosByItemIdInAndStartAfterAndStatus(anyList(), any(), any()))
                 .thenReturn(List.of());
-        when(commentRepository.findByItemIdIn(anyList())).thenReturn(List.of());
+        when(commentRepository.findDtosByItemIdIn(anyList())).thenReturn(List.of());
 
         List<ItemResponseDto> result = itemService.getAllItems(1L);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
+        assertEquals(5L, result.get(0).getLastBooking().getId());
+        assertNull(result.get(0).getNextBooking());
+        assertTrue(result.get(0).getComments().isEmpty());
     }
 
     @Test
@@ -162,6 +183,28 @@ public class ItemServiceImplTest {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    public void searchItems_JfrRecording_EmitsSearchEventWithQueryLengthAndResultCount() throws Exception {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(itemRepository.searchAvailableItems(eq("drill"), any(Pageable.class))).thenReturn(List.of(item));
+
+        Path file = Files.createTempFile("item-search", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.practicum.shareit.ItemSearch");
+            recording.start();
+            itemService.searchItems("drill", 1L);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            assertEquals(5, events.get(0).getInt("queryLength"));
+            assertEquals(1, events.get(0).getInt("resultCount"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Test
     public void searchItems_EmptyText_ReturnsEmptyList() {
         // Убираем ненужный мок, так как метод searchItems не вызывает userRepository при пустом тексте
@@ -181,10 +224,10 @@ public class ItemServiceImplTest {
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
 
-        when(bookingRepository.findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(anyLong(), any(), any()))
-                .thenReturn(Optional.empty());
-        when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(anyLong(), any(), any()))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.findInfosByItemIdAndEndBeforeAndStatus(anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.findInfosByItemIdAndStartAfterAndStatus(anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
         when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
 
         assertDoesNotThrow(() -> itemService.updateItem(1L, updateDto, 1L));
@@ -56,4 +56,23 @@ public class ItemServiceIntegrationTest {
         assertTrue(result.getAvailable());
         assertEquals(ownerId, result.getOwnerId()); // Теперь ownerId доступен
     }
+
+    @Test
+    public void createItem_ClientSuppliedId_IgnoredAndExistingItemKept() {
+        var existing = itemService.createItem(ItemDto.builder()
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .build(), ownerId);
+
+        var result = itemService.createItem(ItemDto.builder()
+                .id(existing.getId())
+                .name("Saw")
+                .description("Circular saw")
+                .available(true)
+                .build(), ownerId);
+
+        assertNotEquals(existing.getId(), result.getId());
+        assertEquals("Drill", itemService.getItemById(existing.getId(), ownerId).getName());
+    }
 }
@@ -5,11 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.SqlStatementStats;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.config.SqlStatementAssertions.assertMaxStatements;
+import static ru.practicum.shareit.config.SqlStatementAssertions.countStatements;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -58,4 +61,22 @@ public class ItemRequestServiceIntegrationTest {
         assertFalse(result.isEmpty());
         assertEquals("Need a hammer", result.get(0).getDescription());
     }
+
+    @Test
+    public void getUserRequests_SeveralRequests_StatementsBoundedAndItemsQueryRepeated() {
+        User user = userRepository.save(User.builder()
+                .name("Test User")
+                .email("test@example.com")
+                .build());
+        for (int i = 0; i < 3; i++) {
+            itemRequestService.createRequest(ItemRequestDto.builder().description("Need " + i).build(), user.getId());
+        }
+
+        // Проверка пользователя, список запросов и по запросу вещей на каждый
+        var result = assertMaxStatements(5, () -> itemRequestService.getUserRequests(user.getId()));
+        SqlStatementStats stats = countStatements(() -> itemRequestService.getUserRequests(user.getId()));
+
+        assertEquals(3, result.size());
+        assertEquals(1, stats.getRepeatedShapes(2).size());
+    }
 }
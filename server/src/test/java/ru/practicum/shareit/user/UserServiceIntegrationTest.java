@@ -31,6 +31,23 @@ public class UserServiceIntegrationTest {
         assertEquals("test@example.com", result.getEmail());
     }
 
+    @Test
+    public void createUser_ClientSuppliedId_IgnoredAndExistingUserKept() {
+        var existing = userService.createUser(UserDto.builder()
+                .name("Existing")
+                .email("existing@example.com")
+                .build());
+
+        var result = userService.createUser(UserDto.builder()
+                .id(existing.getId())
+                .name("Intruder")
+                .email("intruder@example.com")
+                .build());
+
+        assertNotEquals(existing.getId(), result.getId());
+        assertEquals("Existing", userService.getUserById(existing.getId()).getName());
+    }
+
     @Test
     public void updateUser_ValidUpdate_ReturnsUpdatedUser() {
         UserDto createDto = UserDto.builder()
@@ -51,6 +68,20 @@ public class UserServiceIntegrationTest {
         assertEquals("updated@example.com", result.getEmail());
     }
 
+    @Test
+    public void getUserETag_ChangesAfterUpdate() {
+        var createdUser = userService.createUser(UserDto.builder()
+                .name("Original Name")
+                .email("etag@example.com")
+                .build());
+        String before = userService.getUserETag(createdUser.getId());
+
+        userService.updateUser(createdUser.getId(), UserDto.builder().name("Updated Name").build());
+
+        assertEquals("\"0\"", before);
+        assertNotEquals(before, userService.getUserETag(createdUser.getId()));
+    }
+
     @Test
     public void getAllUsers_ReturnsListOfUsers() {
         userService.createUser(UserDto.builder()